@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of the task service.
+#
+#   scripts/startup-benchmark.sh [jar|cds|native] [runs]
+#
+#   jar     plain executable jar          (mvn -DskipTests package)
+#   cds     AOT-processed jar + CDS archive (mvn -Paot-cds -DskipTests package)
+#   native  GraalVM native executable      (mvn -Pnative -DskipTests native:compile)
+#
+# Time-to-first-request is measured from process launch until GET /tasks
+# answers 200. RSS is read once that first request has been served.
+
+set -euo pipefail
+
+MODE="${1:-jar}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+cd "$(dirname "$0")/.."
+TARGET=target
+JAR_NAME="TaskManagementSystem-1.0.0.jar"
+
+case "$MODE" in
+    jar)
+        CMD=("$JAVA" -jar "$TARGET/$JAR_NAME")
+        ;;
+    cds)
+        CMD=("$JAVA" -XX:SharedArchiveFile="$TARGET/cds/application.jsa" -Dspring.aot.enabled=true
+             -jar "$TARGET/cds/$JAR_NAME")
+        ;;
+    native)
+        CMD=("$TARGET/TaskManagementSystem")
+        ;;
+    *)
+        echo "unknown mode: $MODE (expected jar, cds or native)" >&2
+        exit 2
+        ;;
+esac
+
+rss_kb() {
+    if [[ -r "/proc/$1/status" ]]; then
+        awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+ttfr_results=()
+rss_results=()
+
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    "${CMD[@]}" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/tasks" || true)" == "200" ]]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before serving a request" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+
+    ttfr_ms=$(( (end - start) / 1000000 ))
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    ttfr_results+=("$ttfr_ms")
+    rss_results+=("$rss")
+    printf 'run %d: time-to-first-request %d ms, rss %d MiB\n' "$run" "$ttfr_ms" "$(( rss / 1024 ))"
+done
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+printf '%s: median time-to-first-request %d ms, median rss %d MiB over %d runs\n' \
+    "$MODE" "$(median "${ttfr_results[@]}")" "$(( $(median "${rss_results[@]}") / 1024 ))" "$RUNS"
@@ -0,0 +1,52 @@
+package org.example.task.application;
+
+import java.util.Arrays;
+
+/** Growable list of primitive ints, used for adjacency lists without boxing. */
+final class IntList {
+    private int[] values = new int[2];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int removeLast() {
+        return values[--size];
+    }
+
+    // Order is not preserved: the last element fills the gap.
+    boolean remove(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+}
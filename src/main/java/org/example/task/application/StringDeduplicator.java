@@ -0,0 +1,134 @@
+package org.example.task.application;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of canonical title/description strings. Tasks created from the
+ * same template end up sharing one String instead of each holding the copy
+ * Jackson produced for its request. Each stripe is an access-ordered LRU map,
+ * so rarely repeated values age out instead of pinning heap.
+ *
+ * <p>{@code task.dedup.bytes.deduplicated} counts the estimated size of every
+ * duplicate copy that was replaced by a canonical instance. It is cumulative:
+ * it does not shrink when tasks are deleted, so it is not live heap savings.
+ */
+@Component
+public class StringDeduplicator implements MeterBinder {
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int maxLength;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesDeduplicated = new LongAdder();
+
+    public StringDeduplicator() {
+        this(65_536, 4_096);
+    }
+
+    @Autowired
+    public StringDeduplicator(@Value("${task.dedup.max-entries:65536}") int maxEntries,
+                              @Value("${task.dedup.max-length:4096}") int maxLength) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.maxLength = maxLength;
+    }
+
+    public String dedup(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        lookups.increment();
+        Stripe stripe = stripes[(value.hashCode() & 0x7fffffff) % STRIPES];
+        String canonical;
+        synchronized (stripe) {
+            canonical = stripe.putIfAbsent(value, value);
+        }
+        if (canonical == null) {
+            return value;
+        }
+        if (canonical != value) {
+            hits.increment();
+            bytesDeduplicated.add(estimateRetainedBytes(value));
+        }
+        return canonical;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public double hitRate() {
+        long total = lookups.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    public long bytesDeduplicated() {
+        return bytesDeduplicated.sum();
+    }
+
+    // String header + byte[] header + payload, padded to 8 bytes. Compact
+    // strings store one byte per char unless a char needs UTF-16.
+    static long estimateRetainedBytes(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long array = (16L + (long) value.length() * bytesPerChar + 7) & ~7L;
+        return 24L + array;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.dedup.lookups", lookups, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("task.dedup.hits", hits, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("task.dedup.bytes.deduplicated", bytesDeduplicated, LongAdder::sum)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("task.dedup.hit.ratio", this, StringDeduplicator::hitRate)
+                .register(registry);
+        Gauge.builder("task.dedup.entries", this, StringDeduplicator::size)
+                .register(registry);
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, String> {
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+}
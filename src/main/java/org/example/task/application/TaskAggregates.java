@@ -0,0 +1,148 @@
+package org.example.task.application;
+
+import org.example.task.domain.TaskStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Materialized task counts by status and due-date bucket. TaskService applies
+ * every mutation as a delta, so reads cost O(buckets returned) and never scan
+ * the store. A bucket is dropped once all of its counts are back to zero, and
+ * overdue counts are kept running and only advanced by the days that passed.
+ */
+@Component
+public class TaskAggregates {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final EnumMap<AggregateBucket, ConcurrentSkipListMap<LocalDate, long[]>> counters =
+            new EnumMap<>(AggregateBucket.class);
+
+    // Counts of day buckets before overdueBefore; both guarded by overdue.
+    private final long[] overdue = new long[STATUSES.length];
+    private LocalDate overdueBefore;
+
+    public TaskAggregates() {
+        for (AggregateBucket bucket : AggregateBucket.values()) {
+            counters.put(bucket, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    public void onCreated(TaskStatus status, LocalDate dueDate) {
+        apply(status, dueDate, 1);
+    }
+
+    public void onUpdated(TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus newStatus, LocalDate newDueDate) {
+        if (oldStatus == newStatus && oldDueDate.equals(newDueDate)) {
+            return;
+        }
+        apply(oldStatus, oldDueDate, -1);
+        apply(newStatus, newDueDate, 1);
+    }
+
+    public void onDeleted(TaskStatus status, LocalDate dueDate) {
+        apply(status, dueDate, -1);
+    }
+
+    public List<Row> query(AggregateBucket bucket, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, long[]> range = counters.get(bucket);
+        if (from != null) {
+            range = range.tailMap(bucket.startOf(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<LocalDate, long[]> entry : range.entrySet()) {
+            rows.add(new Row(entry.getKey(), snapshot(entry.getValue())));
+        }
+        return rows;
+    }
+
+    public EnumMap<TaskStatus, Long> overdue(LocalDate today) {
+        ConcurrentSkipListMap<LocalDate, long[]> days = counters.get(AggregateBucket.DAY);
+        synchronized (overdue) {
+            if (overdueBefore == null) {
+                addAll(days.headMap(today), 1);
+            } else if (today.isAfter(overdueBefore)) {
+                addAll(days.subMap(overdueBefore, today), 1);
+            } else if (today.isBefore(overdueBefore)) {
+                addAll(days.subMap(today, overdueBefore), -1);
+            }
+            overdueBefore = today;
+            return snapshot(overdue);
+        }
+    }
+
+    private void apply(TaskStatus status, LocalDate dueDate, long delta) {
+        add(AggregateBucket.WEEK, dueDate, status, delta);
+        add(AggregateBucket.MONTH, dueDate, status, delta);
+        // The day bucket and the running overdue counts move together, so a
+        // concurrent overdue() never counts a delta twice or misses it.
+        synchronized (overdue) {
+            add(AggregateBucket.DAY, dueDate, status, delta);
+            if (overdueBefore != null && dueDate.isBefore(overdueBefore)) {
+                overdue[status.ordinal()] += delta;
+            }
+        }
+    }
+
+    // Bucket values are replaced, never mutated, so compute's retries are safe
+    // and a bucket is removed atomically when its last count drops to zero.
+    private void add(AggregateBucket bucket, LocalDate dueDate, TaskStatus status, long delta) {
+        counters.get(bucket).compute(bucket.startOf(dueDate), (start, values) -> {
+            long[] next = values == null ? new long[STATUSES.length] : values.clone();
+            next[status.ordinal()] += delta;
+            for (long count : next) {
+                if (count != 0) {
+                    return next;
+                }
+            }
+            return null;
+        });
+    }
+
+    private void addAll(Map<LocalDate, long[]> days, long sign) {
+        for (long[] values : days.values()) {
+            for (int i = 0; i < values.length; i++) {
+                overdue[i] += sign * values[i];
+            }
+        }
+    }
+
+    private static EnumMap<TaskStatus, Long> snapshot(long[] values) {
+        EnumMap<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            counts.put(status, values[status.ordinal()]);
+        }
+        return counts;
+    }
+
+    public static final class Row {
+        private final LocalDate bucketStart;
+        private final EnumMap<TaskStatus, Long> counts;
+
+        Row(LocalDate bucketStart, EnumMap<TaskStatus, Long> counts) {
+            this.bucketStart = bucketStart;
+            this.counts = counts;
+        }
+
+        public LocalDate getBucketStart() {
+            return bucketStart;
+        }
+
+        public EnumMap<TaskStatus, Long> getCounts() {
+            return counts;
+        }
+
+        public long getTotal() {
+            long total = 0;
+            for (long count : counts.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
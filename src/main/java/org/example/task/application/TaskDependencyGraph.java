@@ -0,0 +1,239 @@
+package org.example.task.application;
+
+import org.example.task.domain.TaskStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocked-by edges between tasks. Each task is mapped to a dense int node so
+ * adjacency lists stay primitive. Every node keeps a count of blockers that are
+ * not DONE, and nodes whose count is zero live in an indexed ready set, so
+ * readiness queries cost O(result) and status changes only touch direct
+ * dependents.
+ */
+@Component
+public class TaskDependencyGraph {
+    private final Map<String, Integer> nodes = new HashMap<>();
+    private final IntList freeNodes = new IntList();
+
+    private String[] ids = new String[16];
+    private IntList[] blockers = new IntList[16];
+    private IntList[] dependents = new IntList[16];
+    private boolean[] done = new boolean[16];
+    private int[] unresolved = new int[16];
+    private int nodeCount;
+
+    // Indexed set: readyNodes[0..readyCount) holds members, readyPosition[node]
+    // is the slot of a member or -1.
+    private int[] readyNodes = new int[16];
+    private int[] readyPosition = new int[16];
+    private int readyCount;
+
+    // Cycle checks stamp visited nodes with the search's epoch instead of
+    // allocating a visited array per search, so an edge insert only pays for
+    // the nodes it actually reaches.
+    private int[] visitedEpoch = new int[16];
+    private int searchEpoch;
+    private final IntList searchStack = new IntList();
+
+    public synchronized void register(String id, TaskStatus status) {
+        if (nodes.containsKey(id)) {
+            return;
+        }
+        int node = allocate();
+        nodes.put(id, node);
+        ids[node] = id;
+        blockers[node] = new IntList();
+        dependents[node] = new IntList();
+        done[node] = status == TaskStatus.DONE;
+        unresolved[node] = 0;
+        readyPosition[node] = -1;
+        updateReadiness(node);
+    }
+
+    public synchronized void remove(String id) {
+        Integer boxed = nodes.remove(id);
+        if (boxed == null) {
+            return;
+        }
+        int node = boxed;
+        IntList blockedBy = blockers[node];
+        for (int i = 0; i < blockedBy.size(); i++) {
+            dependents[blockedBy.get(i)].remove(node);
+        }
+        IntList blocking = dependents[node];
+        for (int i = 0; i < blocking.size(); i++) {
+            int dependent = blocking.get(i);
+            blockers[dependent].remove(node);
+            if (!done[node]) {
+                unresolved[dependent]--;
+                updateReadiness(dependent);
+            }
+        }
+        removeReady(node);
+        ids[node] = null;
+        blockers[node] = null;
+        dependents[node] = null;
+        freeNodes.add(node);
+    }
+
+    public synchronized void onStatusChanged(String id, TaskStatus status) {
+        Integer boxed = nodes.get(id);
+        if (boxed == null) {
+            return;
+        }
+        int node = boxed;
+        boolean nowDone = status == TaskStatus.DONE;
+        if (done[node] == nowDone) {
+            return;
+        }
+        done[node] = nowDone;
+        int delta = nowDone ? -1 : 1;
+        IntList blocking = dependents[node];
+        for (int i = 0; i < blocking.size(); i++) {
+            int dependent = blocking.get(i);
+            unresolved[dependent] += delta;
+            updateReadiness(dependent);
+        }
+        updateReadiness(node);
+    }
+
+    /**
+     * Records that {@code taskId} is blocked by {@code blockerId}.
+     *
+     * @throws IllegalArgumentException if the edge would create a cycle
+     */
+    public synchronized void addBlocker(String taskId, String blockerId) {
+        int task = requireNode(taskId);
+        int blocker = requireNode(blockerId);
+        if (task == blocker || reachesThroughBlockers(blocker, task)) {
+            throw new IllegalArgumentException("blocked_by would create a dependency cycle");
+        }
+        if (blockers[task].contains(blocker)) {
+            return;
+        }
+        blockers[task].add(blocker);
+        dependents[blocker].add(task);
+        if (!done[blocker]) {
+            unresolved[task]++;
+            updateReadiness(task);
+        }
+    }
+
+    public synchronized void removeBlocker(String taskId, String blockerId) {
+        int task = requireNode(taskId);
+        int blocker = requireNode(blockerId);
+        if (!blockers[task].remove(blocker)) {
+            return;
+        }
+        dependents[blocker].remove(task);
+        if (!done[blocker]) {
+            unresolved[task]--;
+            updateReadiness(task);
+        }
+    }
+
+    public synchronized List<String> blockersOf(String taskId) {
+        IntList blockedBy = blockers[requireNode(taskId)];
+        List<String> result = new ArrayList<>(blockedBy.size());
+        for (int i = 0; i < blockedBy.size(); i++) {
+            result.add(ids[blockedBy.get(i)]);
+        }
+        return result;
+    }
+
+    public synchronized List<String> readyIds(int limit) {
+        int count = Math.min(limit, readyCount);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(ids[readyNodes[i]]);
+        }
+        return result;
+    }
+
+    private int requireNode(String id) {
+        Integer node = nodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Task is not part of the dependency graph: " + id);
+        }
+        return node;
+    }
+
+    // Depth-first search along blocked-by edges; a new edge task -> blocker
+    // closes a cycle exactly when the blocker already (transitively) waits on task.
+    private boolean reachesThroughBlockers(int from, int target) {
+        if (++searchEpoch == 0) {
+            Arrays.fill(visitedEpoch, 0);
+            searchEpoch = 1;
+        }
+        IntList stack = searchStack;
+        stack.clear();
+        stack.add(from);
+        visitedEpoch[from] = searchEpoch;
+        while (stack.size() > 0) {
+            int node = stack.removeLast();
+            if (node == target) {
+                return true;
+            }
+            IntList next = blockers[node];
+            for (int i = 0; i < next.size(); i++) {
+                int candidate = next.get(i);
+                if (visitedEpoch[candidate] != searchEpoch) {
+                    visitedEpoch[candidate] = searchEpoch;
+                    stack.add(candidate);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void updateReadiness(int node) {
+        if (!done[node] && unresolved[node] == 0) {
+            addReady(node);
+        } else {
+            removeReady(node);
+        }
+    }
+
+    private void addReady(int node) {
+        if (readyPosition[node] >= 0) {
+            return;
+        }
+        readyNodes[readyCount] = node;
+        readyPosition[node] = readyCount++;
+    }
+
+    private void removeReady(int node) {
+        int position = readyPosition[node];
+        if (position < 0) {
+            return;
+        }
+        int last = readyNodes[--readyCount];
+        readyNodes[position] = last;
+        readyPosition[last] = position;
+        readyPosition[node] = -1;
+    }
+
+    private int allocate() {
+        if (freeNodes.size() > 0) {
+            return freeNodes.removeLast();
+        }
+        if (nodeCount == ids.length) {
+            int capacity = nodeCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            blockers = Arrays.copyOf(blockers, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+            done = Arrays.copyOf(done, capacity);
+            unresolved = Arrays.copyOf(unresolved, capacity);
+            readyNodes = Arrays.copyOf(readyNodes, capacity);
+            readyPosition = Arrays.copyOf(readyPosition, capacity);
+            visitedEpoch = Arrays.copyOf(visitedEpoch, capacity);
+        }
+        return nodeCount++;
+    }
+}
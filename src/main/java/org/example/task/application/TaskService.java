@@ -1,5 +1,6 @@
 package org.example.task.application;
 
+import org.example.task.domain.DeletionHistoryPurgedException;
 import org.example.task.domain.Task;
 import org.example.task.domain.TaskNotFoundException;
 import org.example.task.domain.TaskRepository;
@@ -17,15 +18,32 @@ import java.util.stream.Stream;
 @Service
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final StringDeduplicator strings;
+    private final TaskAggregates aggregates;
+    private final TaskDependencyGraph dependencies;
     private final Clock clock;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
-        this(taskRepository, Clock.systemDefaultZone());
+    public TaskService(TaskRepository taskRepository,
+                       StringDeduplicator strings,
+                       TaskAggregates aggregates,
+                       TaskDependencyGraph dependencies) {
+        this(taskRepository, strings, aggregates, dependencies, Clock.systemDefaultZone());
     }
 
     TaskService(TaskRepository taskRepository, Clock clock) {
+        this(taskRepository, new StringDeduplicator(), new TaskAggregates(), new TaskDependencyGraph(), clock);
+    }
+
+    TaskService(TaskRepository taskRepository,
+                StringDeduplicator strings,
+                TaskAggregates aggregates,
+                TaskDependencyGraph dependencies,
+                Clock clock) {
         this.taskRepository = taskRepository;
+        this.strings = strings;
+        this.aggregates = aggregates;
+        this.dependencies = dependencies;
         this.clock = clock;
     }
 
@@ -33,8 +51,11 @@ public class TaskService {
         validateDueDateInFuture(dueDate);
 
         String id = UUID.randomUUID().toString();
-        Task task = new Task(id, title, description, status, dueDate);
-        return taskRepository.save(task);
+        Task task = new Task(id, strings.dedup(title), strings.dedup(description), status, dueDate);
+        Task saved = taskRepository.save(task);
+        aggregates.onCreated(saved.getStatus(), saved.getDueDate());
+        dependencies.register(saved.getId(), saved.getStatus());
+        return saved;
     }
 
     public Task getTask(String id) {
@@ -43,61 +64,119 @@ public class TaskService {
 
     public Task updateTask(String id, String title, String description, TaskStatus status, LocalDate dueDate) {
         Task task = taskRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-
-        if (title != null) {
-            task.setTitle(title);
-        }
-        if (description != null) {
-            task.setDescription(description);
-        }
-        if (status != null) {
-            task.setStatus(status);
-        }
         if (dueDate != null) {
             validateDueDateInFuture(dueDate);
-            task.setDueDate(dueDate);
         }
 
-        return taskRepository.save(task);
+        // Serialize writers of the same task so the aggregate delta is computed
+        // against the state this update actually replaced.
+        synchronized (task) {
+            if (task.isDeleted()) {
+                throw new TaskNotFoundException(id);
+            }
+            TaskStatus previousStatus = task.getStatus();
+            LocalDate previousDueDate = task.getDueDate();
+
+            // Re-sent unchanged text keeps the instance the task already holds.
+            if (title != null && !title.equals(task.getTitle())) {
+                task.setTitle(strings.dedup(title));
+            }
+            if (description != null && !description.equals(task.getDescription())) {
+                task.setDescription(strings.dedup(description));
+            }
+            if (status != null) {
+                task.setStatus(status);
+            }
+            if (dueDate != null) {
+                task.setDueDate(dueDate);
+            }
+
+            Task saved = taskRepository.save(task);
+            aggregates.onUpdated(previousStatus, previousDueDate, saved.getStatus(), saved.getDueDate());
+            if (saved.getStatus() != previousStatus) {
+                dependencies.onStatusChanged(saved.getId(), saved.getStatus());
+            }
+            return saved;
+        }
     }
 
     public void deleteTask(String id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException(id);
+        Task task = taskRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        // The lookup above is for lock identity: updates lock the same instance,
+        // so holding it keeps a concurrent update from saving the task back
+        // after its tombstone is written. The repository removal below is the
+        // authoritative check and fails if another delete got there first.
+        synchronized (task) {
+            Task deleted = taskRepository.delete(id, clock.instant())
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+            aggregates.onDeleted(deleted.getStatus(), deleted.getDueDate());
+            dependencies.remove(id);
         }
-        taskRepository.deleteById(id);
     }
 
-    public Page<Task> listTasks(TaskStatus status, int page, int size, Sort sort) {
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        List<Task> tasks;
-        if (status != null) {
-            // Get filtered tasks and sort them
-            tasks = new ArrayList<>(taskRepository.findAll())
-                    .stream()
-                    .filter(task -> task.getStatus() == status)
-                    .sorted(Comparator.comparing(Task::getDueDate))
-                    .collect(Collectors.toList());
-        } else {
-            // Get all tasks and sort them
-            tasks = new ArrayList<>(taskRepository.findAll());
-            tasks.sort(Comparator.comparing(Task::getDueDate));
+    /**
+     * @throws DeletionHistoryPurgedException if tombstones after
+     * {@code deletedSince} were already compacted away, so the caller must
+     * resynchronize from a full listing instead of the change feed
+     */
+    public Page<Task> listDeleted(long deletedSince, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<Task> deleted = taskRepository.findDeletedSince(deletedSince);
+        long purgedThrough = taskRepository.purgedDeletedThrough();
+        if (deletedSince < purgedThrough) {
+            throw new DeletionHistoryPurgedException(deletedSince, purgedThrough);
         }
-        
-        // Apply pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), tasks.size());
-        
-        if (start > tasks.size()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, tasks.size());
+
+        int start = (int) Math.min(pageable.getOffset(), deleted.size());
+        int end = Math.min(start + pageable.getPageSize(), deleted.size());
+        return new PageImpl<>(deleted.subList(start, end), pageable, deleted.size());
+    }
+
+    public void addBlocker(String id, String blockerId) {
+        getTask(id);
+        getTask(blockerId);
+        dependencies.addBlocker(id, blockerId);
+    }
+
+    public void removeBlocker(String id, String blockerId) {
+        getTask(id);
+        getTask(blockerId);
+        dependencies.removeBlocker(id, blockerId);
+    }
+
+    public List<String> getBlockers(String id) {
+        getTask(id);
+        return dependencies.blockersOf(id);
+    }
+
+    public List<Task> getReadyTasks(int limit) {
+        List<Task> ready = new ArrayList<>();
+        for (String id : dependencies.readyIds(limit)) {
+            taskRepository.findById(id).ifPresent(ready::add);
         }
-        
-        return new PageImpl<>(
-                tasks.subList(start, end),
-                pageable,
-                tasks.size()
-        );
+        return ready;
+    }
+
+    public List<TaskAggregates.Row> getAggregates(AggregateBucket bucket, LocalDate from, LocalDate to) {
+        return aggregates.query(bucket, from, to);
+    }
+
+    public EnumMap<TaskStatus, Long> getOverdueCounts() {
+        return aggregates.overdue(LocalDate.now(clock));
+    }
+
+    public long countTasks() {
+        return taskRepository.count();
+    }
+
+    public Page<Task> listTasks(TaskStatus status, int page, int size, Sort sort) {
+        return listTasks(status, page, size, sort, false);
+    }
+
+    public Page<Task> listTasks(TaskStatus status, int page, int size, Sort sort, boolean includeDeleted) {
+        // Always ordered by due date; the repository sorts and pages so it can
+        // leave tasks it keeps off heap undecoded
+        return taskRepository.findPageByDueDate(status, includeDeleted, PageRequest.of(page, size, sort));
     }
 
     private void validateDueDateInFuture(LocalDate dueDate) {
@@ -0,0 +1,14 @@
+package org.example.task.domain;
+
+public class DeletionHistoryPurgedException extends RuntimeException {
+    private final long purgedThrough;
+
+    public DeletionHistoryPurgedException(long deletedSince, long purgedThrough) {
+        super("Deletions after " + deletedSince + " are no longer retained; purged through " + purgedThrough);
+        this.purgedThrough = purgedThrough;
+    }
+
+    public long getPurgedThrough() {
+        return purgedThrough;
+    }
+}
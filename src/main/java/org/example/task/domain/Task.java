@@ -1,5 +1,6 @@
 package org.example.task.domain;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -9,6 +10,8 @@ public class Task {
     private String description;
     private TaskStatus status;
     private LocalDate dueDate;
+    private long deletedSequence;
+    private Instant deletedAt;
 
     public Task(String id, String title, String description, TaskStatus status, LocalDate dueDate) {
         this.id = Objects.requireNonNull(id, "id");
@@ -53,4 +56,21 @@ public class Task {
     public void setDueDate(LocalDate dueDate) {
         this.dueDate = Objects.requireNonNull(dueDate, "dueDate");
     }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
+    public long getDeletedSequence() {
+        return deletedSequence;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void markDeleted(long deletedSequence, Instant deletedAt) {
+        this.deletedSequence = deletedSequence;
+        this.deletedAt = Objects.requireNonNull(deletedAt, "deletedAt");
+    }
 }
@@ -1,9 +1,14 @@
 package org.example.task.domain;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 public interface TaskRepository {
@@ -11,6 +16,36 @@ public interface TaskRepository {
     Optional<Task> findById(String id);
     boolean existsById(String id);
     void deleteById(String id);
+    Optional<Task> delete(String id, Instant deletedAt);
+    List<Task> findDeletedSince(long deletedSequence);
+    int purgeDeleted(Instant deletedBefore, int maxEntries);
+    long purgedDeletedThrough();
     Collection<Task> findAll();
+    long count();
     Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+
+    /**
+     * One page of tasks ordered by due date, restricted to {@code status}
+     * unless it is null, with deleted tasks included on request. Repositories
+     * that keep tasks off heap override this to decode only the page.
+     */
+    default Page<Task> findPageByDueDate(TaskStatus status, boolean includeDeleted, Pageable pageable) {
+        List<Task> tasks = new ArrayList<>(status == null
+                ? findAll()
+                : findByStatus(status, Pageable.unpaged()).getContent());
+        if (includeDeleted) {
+            for (Task task : findDeletedSince(0)) {
+                if (status == null || task.getStatus() == status) {
+                    tasks.add(task);
+                }
+            }
+        }
+        tasks.sort(Comparator.comparing(Task::getDueDate));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(tasks, pageable, tasks.size());
+        }
+        int start = (int) Math.min(pageable.getOffset(), tasks.size());
+        int end = Math.min(start + pageable.getPageSize(), tasks.size());
+        return new PageImpl<>(tasks.subList(start, end), pageable, tasks.size());
+    }
 }
@@ -3,18 +3,26 @@ package org.example.task.infrastructure;
 import org.example.task.domain.Task;
 import org.example.task.domain.TaskRepository;
 import org.example.task.domain.TaskStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(name = "task.storage.tiered.enabled", havingValue = "false", matchIfMissing = true)
 public class InMemoryTaskRepository implements TaskRepository {
     private final ConcurrentHashMap<String, Task> store = new ConcurrentHashMap<>();
+    // Deleted tasks keyed by deletion sequence, oldest first, until compacted.
+    private final ConcurrentSkipListMap<Long, Task> tombstones = new ConcurrentSkipListMap<>();
+    private long deletionSequence;
+    private volatile long purgedThrough;
 
     @Override
     public Task save(Task task) {
@@ -37,17 +45,70 @@ public class InMemoryTaskRepository implements TaskRepository {
         store.remove(id);
     }
 
+    @Override
+    public Optional<Task> delete(String id, Instant deletedAt) {
+        Task removed = store.remove(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        // Assign and publish under one lock so readers of deleted_since never
+        // observe sequence n+1 before n and skip past a deletion.
+        synchronized (tombstones) {
+            long sequence = ++deletionSequence;
+            removed.markDeleted(sequence, deletedAt);
+            tombstones.put(sequence, removed);
+        }
+        return Optional.of(removed);
+    }
+
+    @Override
+    public List<Task> findDeletedSince(long deletedSequence) {
+        return new ArrayList<>(tombstones.tailMap(deletedSequence, false).values());
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int maxEntries) {
+        int purged = 0;
+        Iterator<Map.Entry<Long, Task>> oldestFirst = tombstones.entrySet().iterator();
+        while (purged < maxEntries && oldestFirst.hasNext()) {
+            Map.Entry<Long, Task> tombstone = oldestFirst.next();
+            if (!tombstone.getValue().getDeletedAt().isBefore(deletedBefore)) {
+                break;
+            }
+            // Raise the watermark before the entry disappears, so a reader
+            // that checks it after listing can tell it may have missed one.
+            purgedThrough = tombstone.getKey();
+            oldestFirst.remove();
+            purged++;
+        }
+        return purged;
+    }
+
+    @Override
+    public long purgedDeletedThrough() {
+        return purgedThrough;
+    }
+
     @Override
     public Collection<Task> findAll() {
         return store.values();
     }
 
+    @Override
+    public long count() {
+        return store.mappingCount();
+    }
+
     @Override
     public Page<Task> findByStatus(TaskStatus status, Pageable pageable) {
         List<Task> filteredTasks = store.values().stream()
                 .filter(task -> task.getStatus() == status)
                 .collect(Collectors.toList());
 
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(filteredTasks, pageable, filteredTasks.size());
+        }
+
         int start = (int) pageable.getOffset();
         int end = Math.min((start + pageable.getPageSize()), filteredTasks.size());
         
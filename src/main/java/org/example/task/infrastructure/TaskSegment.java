@@ -0,0 +1,423 @@
+package org.example.task.infrastructure;
+
+import org.example.task.domain.Task;
+import org.example.task.domain.TaskStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, memory-mapped file of tasks sorted by id.
+ *
+ * <pre>
+ * header:  magic:int recordCount:int indexCount:int indexOffset:int
+ * record:  id title description:(length -1 = null) status:byte dueDate:long(epoch day)
+ * index:   (id offset:int) for every INDEX_INTERVAL-th record
+ * </pre>
+ *
+ * Strings are an int byte length followed by UTF-8. Only the sparse index is
+ * kept on heap; a lookup binary searches it and then scans at most
+ * INDEX_INTERVAL records in the mapping; ids outside the segment's id range
+ * are rejected without touching it. All reads use absolute offsets, so a
+ * segment can be shared between threads without copying the buffer.
+ *
+ * <p>The file never changes, but a record can be marked superseded once its
+ * task has moved back to the hot tier. Marks are one bit per record, indexed
+ * by the record's position in id order.
+ *
+ * <p>For listing, the records' due dates are also kept on heap in due-date
+ * order, twelve bytes per record, so a page can be found without decoding the
+ * records that come before it.
+ */
+final class TaskSegment {
+    static final int INDEX_INTERVAL = 32;
+
+    private static final int MAGIC = 0x54534547;
+    private static final int HEADER_BYTES = 16;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int recordsEnd;
+    private final String[] indexIds;
+    private final int[] indexOffsets;
+    private final String lastId;
+    private final AtomicLongArray superseded;
+    // Ordinals sorted by due date, and the epoch day of each.
+    private final int[] byDueDate;
+    private final long[] dueDays;
+
+    private TaskSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a task segment: " + file);
+        }
+        this.recordCount = buffer.getInt(4);
+        int indexCount = buffer.getInt(8);
+        this.recordsEnd = buffer.getInt(12);
+        this.indexIds = new String[indexCount];
+        this.indexOffsets = new int[indexCount];
+        int position = recordsEnd;
+        for (int i = 0; i < indexCount; i++) {
+            int length = buffer.getInt(position);
+            indexIds[i] = readString(position + 4, length);
+            position += 4 + length;
+            indexOffsets[i] = buffer.getInt(position);
+            position += 4;
+        }
+        this.lastId = indexCount == 0 ? null : lastIdFrom(indexOffsets[indexCount - 1]);
+        this.superseded = new AtomicLongArray((recordCount + 63) >>> 6);
+
+        long[] days = new long[recordCount];
+        position = HEADER_BYTES;
+        for (int ordinal = 0; ordinal < recordCount; ordinal++) {
+            position = skipRecord(position);
+            days[ordinal] = buffer.getLong(position - 8);
+        }
+        this.byDueDate = sortByDay(days);
+        this.dueDays = new long[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            dueDays[i] = days[byDueDate[i]];
+        }
+    }
+
+    /**
+     * Writes the tasks, which must already be sorted by id, to {@code file}
+     * and maps the result.
+     */
+    static TaskSegment write(Path file, List<Task> sortedById) {
+        try (Writer writer = new Writer(file)) {
+            for (Task task : sortedById) {
+                writer.add(task);
+            }
+            return writer.finish();
+        }
+    }
+
+    static TaskSegment open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new TaskSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map task segment " + file, ex);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int size() {
+        return recordCount;
+    }
+
+    /** Position of the id's record in id order, or -1 if the segment has none. */
+    int ordinalOf(String id) {
+        if (lastId == null || id.compareTo(lastId) > 0) {
+            return -1;
+        }
+        int slot = Arrays.binarySearch(indexIds, id);
+        if (slot < 0) {
+            slot = -slot - 2;
+            if (slot < 0) {
+                return -1;
+            }
+        }
+        int position = indexOffsets[slot];
+        for (int i = 0; i < INDEX_INTERVAL && position < recordsEnd; i++) {
+            int idLength = buffer.getInt(position);
+            int comparison = readString(position + 4, idLength).compareTo(id);
+            if (comparison == 0) {
+                return slot * INDEX_INTERVAL + i;
+            }
+            if (comparison > 0) {
+                break;
+            }
+            position = skipRecord(position);
+        }
+        return -1;
+    }
+
+    Task read(int ordinal) {
+        return decode(offsetOf(ordinal));
+    }
+
+    boolean isSuperseded(int ordinal) {
+        return (superseded.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+    }
+
+    /** Returns false if the record was already marked. */
+    boolean markSuperseded(int ordinal) {
+        long bit = 1L << ordinal;
+        return (superseded.getAndAccumulate(ordinal >>> 6, bit, (word, mask) -> word | mask) & bit) == 0;
+    }
+
+    /**
+     * Decodes the records that are not superseded and whose id passes
+     * {@code filter}; the rest are skipped after reading at most their id.
+     */
+    void forEachLive(Predicate<String> filter, Consumer<Task> action) {
+        int position = HEADER_BYTES;
+        for (int ordinal = 0; ordinal < recordCount; ordinal++) {
+            if (!isSuperseded(ordinal) && filter.test(readString(position + 4, buffer.getInt(position)))) {
+                action.accept(decode(position));
+            }
+            position = skipRecord(position);
+        }
+    }
+
+    /** Walks the records that are not superseded in id order, without decoding them. */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /** Walks the records that are not superseded in due-date order, decoding only on request. */
+    DueDateCursor dueDateCursor() {
+        return new DueDateCursor();
+    }
+
+    private int offsetOf(int ordinal) {
+        int position = indexOffsets[ordinal / INDEX_INTERVAL];
+        for (int i = ordinal % INDEX_INTERVAL; i > 0; i--) {
+            position = skipRecord(position);
+        }
+        return position;
+    }
+
+    private String lastIdFrom(int position) {
+        String id = null;
+        while (position < recordsEnd) {
+            id = readString(position + 4, buffer.getInt(position));
+            position = skipRecord(position);
+        }
+        return id;
+    }
+
+    private Task decode(int position) {
+        int length = buffer.getInt(position);
+        String id = readString(position + 4, length);
+        position += 4 + length;
+        length = buffer.getInt(position);
+        String title = readString(position + 4, length);
+        position += 4 + length;
+        length = buffer.getInt(position);
+        String description = length < 0 ? null : readString(position + 4, length);
+        position += 4 + Math.max(length, 0);
+        TaskStatus status = STATUSES[buffer.get(position)];
+        LocalDate dueDate = LocalDate.ofEpochDay(buffer.getLong(position + 1));
+        return new Task(id, title, description, status, dueDate);
+    }
+
+    private int skipRecord(int position) {
+        for (int field = 0; field < 3; field++) {
+            position += 4 + Math.max(buffer.getInt(position), 0);
+        }
+        return position + 1 + 8;
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Packs (day - minDay, ordinal) into one long so a primitive sort orders
+    // by day; only a range of days wider than an int needs the boxed sort.
+    private static int[] sortByDay(long[] days) {
+        int[] order = new int[days.length];
+        if (days.length == 0) {
+            return order;
+        }
+        long min = Arrays.stream(days).min().getAsLong();
+        long max = Arrays.stream(days).max().getAsLong();
+        if (max - min <= Integer.MAX_VALUE) {
+            long[] keys = new long[days.length];
+            for (int i = 0; i < days.length; i++) {
+                keys[i] = (days[i] - min) << 32 | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < keys.length; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+        Integer[] boxed = new Integer[days.length];
+        for (int i = 0; i < days.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, Comparator.comparingLong(i -> days[i]));
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    final class Cursor {
+        private int ordinal = -1;
+        private int position;
+        private int next = HEADER_BYTES;
+        private String id;
+
+        /** Moves to the next live record; false once the segment is exhausted. */
+        boolean advance() {
+            while (++ordinal < recordCount) {
+                position = next;
+                next = skipRecord(position);
+                if (!isSuperseded(ordinal)) {
+                    id = readString(position + 4, buffer.getInt(position));
+                    return true;
+                }
+            }
+            id = null;
+            return false;
+        }
+
+        String id() {
+            return id;
+        }
+
+        void copyTo(Writer writer) {
+            byte[] record = new byte[next - position];
+            buffer.get(position, record);
+            writer.addRecord(id, record);
+        }
+    }
+
+    final class DueDateCursor {
+        private int slot = -1;
+
+        /** Moves to the next live record; false once the segment is exhausted. */
+        boolean advance() {
+            while (++slot < recordCount) {
+                if (!isSuperseded(byDueDate[slot])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long dueDay() {
+            return dueDays[slot];
+        }
+
+        Task read() {
+            return TaskSegment.this.read(byDueDate[slot]);
+        }
+    }
+
+    /**
+     * Streams records, in id order, straight to a new segment file. Only the
+     * sparse index is buffered; the header is filled in by {@link #finish}.
+     */
+    static final class Writer implements Closeable {
+        private final Path file;
+        private final FileChannel channel;
+        private final DataOutputStream records;
+        private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        private final DataOutputStream index = new DataOutputStream(indexBytes);
+        private int recordCount;
+        private int indexCount;
+
+        Writer(Path file) {
+            this.file = file;
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                channel.position(HEADER_BYTES);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to create task segment " + file, ex);
+            }
+            this.records = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        }
+
+        int size() {
+            return recordCount;
+        }
+
+        void add(Task task) {
+            try {
+                startRecord(task.getId());
+                writeString(records, task.getId());
+                writeString(records, task.getTitle());
+                writeString(records, task.getDescription());
+                records.writeByte(task.getStatus().ordinal());
+                records.writeLong(task.getDueDate().toEpochDay());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to write task segment " + file, ex);
+            }
+        }
+
+        private void addRecord(String id, byte[] record) {
+            try {
+                startRecord(id);
+                records.write(record);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to write task segment " + file, ex);
+            }
+        }
+
+        private void startRecord(String id) throws IOException {
+            if (recordCount % INDEX_INTERVAL == 0) {
+                writeString(index, id);
+                index.writeInt(HEADER_BYTES + records.size());
+                indexCount++;
+            }
+            recordCount++;
+        }
+
+        TaskSegment finish() {
+            try {
+                int indexOffset = HEADER_BYTES + records.size();
+                indexBytes.writeTo(records);
+                records.flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(recordCount).putInt(indexCount).putInt(indexOffset)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, HEADER_BYTES - header.remaining());
+                }
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to write task segment " + file, ex);
+            }
+            return open(file);
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to close task segment " + file, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package org.example.task.infrastructure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.example.task.domain.Task;
+import org.example.task.domain.TaskRepository;
+import org.example.task.domain.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps active tasks on heap and spills DONE tasks that have not changed for
+ * {@code task.storage.tiered.cold-after} to immutable, memory-mapped segment
+ * files (see {@link TaskSegment}).
+ *
+ * <p>The hot tier is an {@link InMemoryTaskRepository} and always wins over the
+ * cold tier. A cold task that is saved again moves back to the hot tier, and
+ * its segment record is marked superseded instead of being rewritten; at most
+ * one record per id is ever live. Cold
+ * tasks are decoded on demand; point reads hand out one shared instance per id
+ * so callers that lock on a task still serialize with each other.
+ *
+ * <p>After each migration, once there are more than
+ * {@code task.storage.tiered.max-segments} segments or superseded records
+ * outnumber live ones, all segments are merged: live records are copied, byte
+ * for byte and in id order, into fresh segments and the superseded records are
+ * dropped with the old files. The merge streams and runs without blocking
+ * saves and deletes.
+ *
+ * <p>Segments are not a durable store. The hot tier lives only in memory, so
+ * segment files are cleared on startup and on shutdown.
+ */
+@Repository
+@ConditionalOnProperty(name = "task.storage.tiered.enabled", havingValue = "true")
+public class TieredTaskRepository implements TaskRepository, MeterBinder {
+    private final InMemoryTaskRepository hot = new InMemoryTaskRepository();
+    private final ConcurrentHashMap<String, Instant> doneSince = new ConcurrentHashMap<>();
+
+    private volatile ColdTier cold = ColdTier.empty();
+    private final ConcurrentHashMap<String, ColdInstance> coldInstances = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Task> collectedInstances = new ReferenceQueue<>();
+    private final AtomicLong coldCount = new AtomicLong();
+    private final Object supersedeLock = new Object();
+    // Ids superseded while a merge is copying records; guarded by supersedeLock.
+    private Set<String> supersededDuringMerge;
+    private volatile long generation;
+
+    private final Path directory;
+    private final Duration coldAfter;
+    private final int maxSegmentRecords;
+    private final int maxSegments;
+    private final Clock clock;
+
+    @Autowired
+    public TieredTaskRepository(@Value("${task.storage.tiered.directory:}") String directory,
+                                @Value("${task.storage.tiered.cold-after:1h}") Duration coldAfter,
+                                @Value("${task.storage.tiered.max-segment-records:100000}") int maxSegmentRecords,
+                                @Value("${task.storage.tiered.max-segments:8}") int maxSegments) {
+        this(directory.isBlank() ? createTempDirectory() : Path.of(directory), coldAfter, maxSegmentRecords,
+                maxSegments, Clock.systemUTC());
+    }
+
+    TieredTaskRepository(Path directory, Duration coldAfter, int maxSegmentRecords, int maxSegments, Clock clock) {
+        this.directory = directory;
+        this.coldAfter = coldAfter;
+        this.maxSegmentRecords = maxSegmentRecords;
+        this.maxSegments = maxSegments;
+        this.clock = clock;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create segment directory " + directory, ex);
+        }
+        deleteSegmentFiles();
+    }
+
+    @Override
+    public Task save(Task task) {
+        String id = task.getId();
+        if (task.getStatus() == TaskStatus.DONE) {
+            doneSince.putIfAbsent(id, clock.instant());
+        } else {
+            doneSince.remove(id);
+        }
+        hot.save(task);
+        if (coldInstances.remove(id) != null) {
+            supersede(id);
+        }
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Optional<Task> task = hot.findById(id);
+        return task.isPresent() ? task : findCold(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return hot.existsById(id) || findColdRecord(cold, id).isPresent();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        hot.deleteById(id);
+        doneSince.remove(id);
+        coldInstances.remove(id);
+        supersede(id);
+    }
+
+    @Override
+    public Optional<Task> delete(String id, Instant deletedAt) {
+        doneSince.remove(id);
+        Optional<Task> deleted = hot.delete(id, deletedAt);
+        if (deleted.isPresent()) {
+            return deleted;
+        }
+        Optional<Task> cold = findCold(id);
+        if (cold.isEmpty()) {
+            return Optional.empty();
+        }
+        // Route the cold task through the hot tier so it gets a tombstone
+        // sequence like any other deletion.
+        coldInstances.remove(id);
+        supersede(id);
+        hot.save(cold.get());
+        return hot.delete(id, deletedAt);
+    }
+
+    @Override
+    public List<Task> findDeletedSince(long deletedSequence) {
+        return hot.findDeletedSince(deletedSequence);
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int maxEntries) {
+        return hot.purgeDeleted(deletedBefore, maxEntries);
+    }
+
+    @Override
+    public long purgedDeletedThrough() {
+        return hot.purgedDeletedThrough();
+    }
+
+    @Override
+    public Collection<Task> findAll() {
+        List<Task> tasks = new ArrayList<>(hot.findAll());
+        addCold(tasks);
+        return tasks;
+    }
+
+    @Override
+    public long count() {
+        return hot.count() + coldCount.get();
+    }
+
+    @Override
+    public Page<Task> findByStatus(TaskStatus status, Pageable pageable) {
+        // Only DONE tasks are ever spilled, so other statuses are answered
+        // from the hot tier alone.
+        if (status != TaskStatus.DONE) {
+            return hot.findByStatus(status, pageable);
+        }
+        List<Task> tasks = new ArrayList<>(hot.findByStatus(status, Pageable.unpaged()).getContent());
+        addCold(tasks);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(tasks, pageable, tasks.size());
+        }
+        int start = (int) Math.min(pageable.getOffset(), tasks.size());
+        int end = Math.min(start + pageable.getPageSize(), tasks.size());
+        return new PageImpl<>(tasks.subList(start, end), pageable, tasks.size());
+    }
+
+    /**
+     * Hot tasks are sorted as they are. Cold records are merged in through
+     * each segment's due-date keys and decoded only if they land on the page.
+     */
+    @Override
+    public Page<Task> findPageByDueDate(TaskStatus status, boolean includeDeleted, Pageable pageable) {
+        if (status != null && status != TaskStatus.DONE) {
+            return hot.findPageByDueDate(status, includeDeleted, pageable);
+        }
+        List<Task> hotTasks = new ArrayList<>(status == null
+                ? hot.findAll()
+                : hot.findByStatus(status, Pageable.unpaged()).getContent());
+        if (includeDeleted) {
+            for (Task task : hot.findDeletedSince(0)) {
+                if (status == null || task.getStatus() == status) {
+                    hotTasks.add(task);
+                }
+            }
+        }
+        hotTasks.sort(Comparator.comparing(Task::getDueDate));
+        long total = hotTasks.size() + coldCount.get();
+
+        List<TaskSegment.DueDateCursor> cursors = new ArrayList<>();
+        for (TaskSegment segment : cold.segments) {
+            TaskSegment.DueDateCursor cursor = segment.dueDateCursor();
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        long limit = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+        List<Task> content = new ArrayList<>();
+        int nextHot = 0;
+        while (content.size() < limit) {
+            TaskSegment.DueDateCursor earliest = null;
+            for (TaskSegment.DueDateCursor cursor : cursors) {
+                if (earliest == null || cursor.dueDay() < earliest.dueDay()) {
+                    earliest = cursor;
+                }
+            }
+            if (nextHot < hotTasks.size()
+                    && (earliest == null || hotTasks.get(nextHot).getDueDate().toEpochDay() <= earliest.dueDay())) {
+                Task task = hotTasks.get(nextHot++);
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(task);
+                }
+            } else if (earliest != null) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    // A task saved back to the hot tier a moment ago may not
+                    // be superseded yet; the hot copy is the one listed.
+                    Task task = earliest.read();
+                    if (!hot.existsById(task.getId())) {
+                        content.add(task);
+                    }
+                }
+                if (!earliest.advance()) {
+                    cursors.remove(earliest);
+                }
+            } else {
+                break;
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Scheduled(fixedDelayString = "${task.storage.tiered.migration-interval-ms:60000}")
+    public synchronized void migrate() {
+        expungeCollectedInstances();
+        spillColdTasks();
+        if (needsCompaction()) {
+            compact();
+        }
+    }
+
+    /**
+     * Merges all segments into as few as max-segment-records allows, keeping
+     * only live records. Records superseded while the merge runs are noted
+     * and marked again in the merged segments just before they are published.
+     */
+    synchronized void compact() {
+        ColdTier tier = cold;
+        long mergedGeneration = generation + 1;
+        synchronized (supersedeLock) {
+            supersededDuringMerge = new HashSet<>();
+        }
+        List<TaskSegment> merged;
+        try {
+            merged = merge(tier.segments, mergedGeneration);
+        } catch (RuntimeException | Error ex) {
+            synchronized (supersedeLock) {
+                supersededDuringMerge = null;
+            }
+            throw ex;
+        }
+        synchronized (supersedeLock) {
+            for (String id : supersededDuringMerge) {
+                for (TaskSegment segment : merged) {
+                    int ordinal = segment.ordinalOf(id);
+                    if (ordinal >= 0) {
+                        segment.markSuperseded(ordinal);
+                        break;
+                    }
+                }
+            }
+            supersededDuringMerge = null;
+            cold = new ColdTier(merged);
+            generation = mergedGeneration;
+        }
+
+        // Readers still holding the old tier keep their mappings alive;
+        // unlinking the files only frees the disk space once they are done.
+        for (TaskSegment segment : tier.segments) {
+            deleteSegmentFile(segment.file());
+        }
+    }
+
+    // K-way merge of the segments, each already sorted by id. Only one record
+    // is in flight at a time, so the heap cost is one cursor per segment.
+    private List<TaskSegment> merge(List<TaskSegment> segments, long mergedGeneration) {
+        PriorityQueue<TaskSegment.Cursor> heads =
+                new PriorityQueue<>(Comparator.comparing(TaskSegment.Cursor::id));
+        for (TaskSegment segment : segments) {
+            TaskSegment.Cursor cursor = segment.cursor();
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        List<TaskSegment> merged = new ArrayList<>();
+        TaskSegment.Writer writer = null;
+        Path file = null;
+        try {
+            while (!heads.isEmpty()) {
+                TaskSegment.Cursor head = heads.poll();
+                if (writer == null) {
+                    file = directory.resolve(String.format("tasks-%016d-%04d.seg", mergedGeneration, merged.size()));
+                    writer = new TaskSegment.Writer(file);
+                }
+                head.copyTo(writer);
+                if (writer.size() == maxSegmentRecords) {
+                    merged.add(writer.finish());
+                    writer = null;
+                }
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+            if (writer != null) {
+                merged.add(writer.finish());
+            }
+            return merged;
+        } catch (RuntimeException | Error ex) {
+            if (writer != null) {
+                writer.close();
+                deleteSegmentFile(file);
+            }
+            for (TaskSegment segment : merged) {
+                deleteSegmentFile(segment.file());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Moves DONE tasks older than the threshold into a new segment. Each task
+     * is snapshotted and later removed under its own lock, and only if nothing
+     * changed in between; a task updated meanwhile stays hot and its new
+     * segment record is superseded.
+     */
+    private void spillColdTasks() {
+        Instant cutoff = clock.instant().minus(coldAfter);
+        List<Task> live = new ArrayList<>();
+        List<Task> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Instant> entry : doneSince.entrySet()) {
+            if (snapshots.size() == maxSegmentRecords) {
+                break;
+            }
+            if (entry.getValue().isAfter(cutoff)) {
+                continue;
+            }
+            Task task = hot.findById(entry.getKey()).orElse(null);
+            if (task == null) {
+                continue;
+            }
+            synchronized (task) {
+                if (task.getStatus() == TaskStatus.DONE && hot.findById(task.getId()).orElse(null) == task) {
+                    live.add(task);
+                    snapshots.add(copyOf(task));
+                }
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        long segmentGeneration = generation + 1;
+        List<Task> sortedById = new ArrayList<>(snapshots);
+        sortedById.sort(Comparator.comparing(Task::getId));
+        Path file = directory.resolve(String.format("tasks-%016d.seg", segmentGeneration));
+        cold = cold.withNewest(TaskSegment.write(file, sortedById));
+        generation = segmentGeneration;
+        coldCount.addAndGet(snapshots.size());
+
+        for (int i = 0; i < live.size(); i++) {
+            Task task = live.get(i);
+            synchronized (task) {
+                if (hot.findById(task.getId()).orElse(null) == task && sameState(task, snapshots.get(i))) {
+                    // Register the instance first: a caller that already holds
+                    // it and saves it later must supersede the new record.
+                    coldInstances.put(task.getId(), new ColdInstance(task, collectedInstances));
+                    hot.deleteById(task.getId());
+                    doneSince.remove(task.getId());
+                } else {
+                    supersede(task.getId());
+                }
+            }
+        }
+    }
+
+    public long hotCount() {
+        return hot.count();
+    }
+
+    public long coldCount() {
+        return coldCount.get();
+    }
+
+    public int segmentCount() {
+        return cold.segments.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.storage.tasks", this, TieredTaskRepository::hotCount)
+                .tag("tier", "hot")
+                .register(registry);
+        Gauge.builder("task.storage.tasks", this, TieredTaskRepository::coldCount)
+                .tag("tier", "cold")
+                .register(registry);
+        Gauge.builder("task.storage.segments", this, TieredTaskRepository::segmentCount)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        cold = ColdTier.empty();
+        deleteSegmentFiles();
+    }
+
+    private Optional<Task> findCold(String id) {
+        Optional<Task> record = findColdRecord(cold, id);
+        if (record.isEmpty()) {
+            return record;
+        }
+        // Take the strong reference inside compute: the shared instance could
+        // otherwise be collected between being looked up and being returned.
+        Task[] shared = new Task[1];
+        coldInstances.compute(id, (key, existing) -> {
+            shared[0] = existing == null ? null : existing.get();
+            if (shared[0] != null) {
+                return existing;
+            }
+            shared[0] = record.get();
+            return new ColdInstance(shared[0], collectedInstances);
+        });
+        // A concurrent save may have moved the task back to the hot tier.
+        return !hot.existsById(id) ? Optional.of(shared[0]) : hot.findById(id);
+    }
+
+    // The newest record of an id is the only one that can be live.
+    private Optional<Task> findColdRecord(ColdTier tier, String id) {
+        for (TaskSegment segment : tier.segments) {
+            int ordinal = segment.ordinalOf(id);
+            if (ordinal >= 0) {
+                return segment.isSuperseded(ordinal) ? Optional.empty() : Optional.of(segment.read(ordinal));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void addCold(List<Task> tasks) {
+        Set<String> hotIds = new HashSet<>();
+        for (Task task : tasks) {
+            hotIds.add(task.getId());
+        }
+        for (TaskSegment segment : cold.segments) {
+            segment.forEachLive(id -> !hotIds.contains(id) && !hot.existsById(id), tasks::add);
+        }
+    }
+
+    private boolean needsCompaction() {
+        ColdTier tier = cold;
+        long live = coldCount.get();
+        return tier.segments.size() > maxSegments || tier.records - live > live;
+    }
+
+    // Marks the id's live segment record, if any, as stale. A record written
+    // by a later migration is a new record and is live again.
+    private void supersede(String id) {
+        synchronized (supersedeLock) {
+            for (TaskSegment segment : cold.segments) {
+                int ordinal = segment.ordinalOf(id);
+                if (ordinal >= 0) {
+                    if (segment.markSuperseded(ordinal)) {
+                        coldCount.decrementAndGet();
+                        if (supersededDuringMerge != null) {
+                            supersededDuringMerge.add(id);
+                        }
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private void expungeCollectedInstances() {
+        ColdInstance collected;
+        while ((collected = (ColdInstance) collectedInstances.poll()) != null) {
+            coldInstances.remove(collected.id, collected);
+        }
+    }
+
+    private void deleteSegmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".seg"))::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot clear segment directory " + directory, ex);
+        }
+    }
+
+    private static void deleteSegmentFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete segment " + file, ex);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("task-segments");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Task copyOf(Task task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getDueDate());
+    }
+
+    private static boolean sameState(Task task, Task snapshot) {
+        return task.getStatus() == snapshot.getStatus()
+                && task.getTitle().equals(snapshot.getTitle())
+                && Objects.equals(task.getDescription(), snapshot.getDescription())
+                && task.getDueDate().equals(snapshot.getDueDate());
+    }
+
+    /**
+     * Segments, newest first, published as one value so a reader never sees a
+     * merge half applied.
+     */
+    private static final class ColdTier {
+        private final List<TaskSegment> segments;
+        private final long records;
+
+        ColdTier(List<TaskSegment> segments) {
+            this.segments = List.copyOf(segments);
+            this.records = segments.stream().mapToLong(TaskSegment::size).sum();
+        }
+
+        static ColdTier empty() {
+            return new ColdTier(List.of());
+        }
+
+        ColdTier withNewest(TaskSegment segment) {
+            List<TaskSegment> newestFirst = new ArrayList<>(segments.size() + 1);
+            newestFirst.add(segment);
+            newestFirst.addAll(segments);
+            return new ColdTier(newestFirst);
+        }
+    }
+
+    private static final class ColdInstance extends WeakReference<Task> {
+        private final String id;
+
+        ColdInstance(Task task, ReferenceQueue<Task> queue) {
+            super(task, queue);
+            this.id = task.getId();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.task.infrastructure;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.task.domain.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Purges tombstones older than the retention period on the scheduler thread.
+ * Each run works in small batches and stops once its time slice is spent, so
+ * a large backlog is drained over several runs instead of in one long pass.
+ */
+@Component
+public class TombstoneCompactor implements MeterBinder {
+    private static final int BATCH_SIZE = 256;
+
+    private final TaskRepository taskRepository;
+    private final Duration retention;
+    private final long sliceNanos;
+    private final Clock clock;
+    private final LongAdder purged = new LongAdder();
+
+    @Autowired
+    public TombstoneCompactor(TaskRepository taskRepository,
+                              @Value("${task.tombstones.retention:24h}") Duration retention,
+                              @Value("${task.tombstones.compaction-slice:5ms}") Duration slice) {
+        this(taskRepository, retention, slice, Clock.systemUTC());
+    }
+
+    TombstoneCompactor(TaskRepository taskRepository, Duration retention, Duration slice, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.retention = retention;
+        this.sliceNanos = slice.toNanos();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${task.tombstones.compaction-interval-ms:1000}")
+    public void compact() {
+        Instant cutoff = clock.instant().minus(retention);
+        long deadline = System.nanoTime() + sliceNanos;
+        int batch;
+        do {
+            batch = taskRepository.purgeDeleted(cutoff, BATCH_SIZE);
+            purged.add(batch);
+        } while (batch == BATCH_SIZE && System.nanoTime() - deadline < 0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.tombstones.purged", purged, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.task.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Identifies the caller for per-client state such as rate limits and
+ * idempotency keys. An authenticated principal wins. A client id header is
+ * only honoured when {@code task.client-identity.trusted-header} names it,
+ * which should be done only behind a gateway that sets and strips it, since
+ * clients can otherwise rotate the value freely. Everything else is keyed by
+ * remote address.
+ */
+@Component
+public class ClientIdentityResolver {
+    private final String trustedHeader;
+
+    public ClientIdentityResolver(@Value("${task.client-identity.trusted-header:}") String trustedHeader) {
+        this.trustedHeader = trustedHeader;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        if (!trustedHeader.isBlank()) {
+            String header = request.getHeader(trustedHeader);
+            if (header != null && !header.isBlank()) {
+                return "client:" + header;
+            }
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
@@ -1,41 +1,122 @@
 package org.example.task.web;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.example.task.application.AggregateBucket;
 import org.example.task.application.TaskService;
 import org.example.task.domain.Task;
 import org.example.task.domain.TaskStatus;
 import org.example.task.web.dto.CreateTaskRequest;
+import org.example.task.web.dto.TaskAggregatesResponse;
 import org.example.task.web.dto.TaskResponse;
 import org.example.task.web.dto.UpdateTaskRequest;
+import org.example.task.web.idempotency.IdempotencyCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final IdempotencyCache idempotencyCache;
+    private final ClientIdentityResolver clientIdentity;
+    private final int maxBatchSize;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, IdempotencyCache idempotencyCache,
+                          ClientIdentityResolver clientIdentity,
+                          @Value("${task.batch.max-size:1000}") int maxBatchSize) {
         this.taskService = taskService;
+        this.idempotencyCache = idempotencyCache;
+        this.clientIdentity = clientIdentity;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
-        Task created = taskService.createTask(
-                request.getTitle(),
-                request.getDescription(),
-                request.getStatus(),
-                request.getDueDate()
+    public ResponseEntity<TaskResponse> createTask(
+            @RequestHeader(name = IdempotencyCache.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateTaskRequest request,
+            HttpServletRequest servletRequest) {
+        String client = clientIdentity.resolve(servletRequest);
+        return idempotencyCache.execute(idempotencyKey, client, "POST /tasks", request, () -> {
+            Task created = taskService.createTask(
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.getStatus(),
+                    request.getDueDate()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(TaskResponse.from(created));
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponse>> createTasks(
+            @RequestHeader(name = IdempotencyCache.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody List<@Valid CreateTaskRequest> requests,
+            HttpServletRequest servletRequest) {
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("batch must not contain more than " + maxBatchSize + " tasks");
+        }
+        String client = clientIdentity.resolve(servletRequest);
+        return idempotencyCache.execute(idempotencyKey, client, "POST /tasks/batch", requests, () -> {
+            List<TaskResponse> created = requests.stream()
+                    .map(request -> taskService.createTask(
+                            request.getTitle(),
+                            request.getDescription(),
+                            request.getStatus(),
+                            request.getDueDate()
+                    ))
+                    .map(TaskResponse::from)
+                    .collect(Collectors.toList());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        });
+    }
+
+    @GetMapping("/aggregates")
+    public TaskAggregatesResponse getAggregates(
+            @RequestParam(defaultValue = "week") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        AggregateBucket granularity = AggregateBucket.parse(bucket);
+        return TaskAggregatesResponse.from(
+                granularity,
+                taskService.getAggregates(granularity, from, to),
+                taskService.getOverdueCounts()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(TaskResponse.from(created));
+    }
+
+    @GetMapping("/ready")
+    public List<TaskResponse> getReadyTasks(@RequestParam(defaultValue = "100") int limit) {
+        return taskService.getReadyTasks(Math.max(limit, 0)).stream()
+                .map(TaskResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/{id}/blocked-by")
+    public List<String> getBlockers(@PathVariable String id) {
+        return taskService.getBlockers(id);
+    }
+
+    @PutMapping("/{id}/blocked-by/{blockerId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void addBlocker(@PathVariable String id, @PathVariable String blockerId) {
+        taskService.addBlocker(id, blockerId);
+    }
+
+    @DeleteMapping("/{id}/blocked-by/{blockerId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void removeBlocker(@PathVariable String id, @PathVariable String blockerId) {
+        taskService.removeBlocker(id, blockerId);
     }
 
     @GetMapping("/{id}")
@@ -44,21 +125,34 @@ public class TaskController {
     }
 
     @PutMapping("/{id}")
-    public TaskResponse updateTask(@PathVariable String id, @Valid @RequestBody UpdateTaskRequest request) {
-        Task updated = taskService.updateTask(
-                id,
-                request.getTitle(),
-                request.getDescription(),
-                request.getStatus(),
-                request.getDueDate()
-        );
-        return TaskResponse.from(updated);
+    public ResponseEntity<TaskResponse> updateTask(
+            @RequestHeader(name = IdempotencyCache.KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable String id,
+            @Valid @RequestBody UpdateTaskRequest request,
+            HttpServletRequest servletRequest) {
+        String client = clientIdentity.resolve(servletRequest);
+        return idempotencyCache.execute(idempotencyKey, client, "PUT /tasks/" + id, request, () -> {
+            Task updated = taskService.updateTask(
+                    id,
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.getStatus(),
+                    request.getDueDate()
+            );
+            return ResponseEntity.ok(TaskResponse.from(updated));
+        });
     }
 
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteTask(@PathVariable String id) {
-        taskService.deleteTask(id);
+    public ResponseEntity<Void> deleteTask(
+            @RequestHeader(name = IdempotencyCache.KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable String id,
+            HttpServletRequest servletRequest) {
+        String client = clientIdentity.resolve(servletRequest);
+        return idempotencyCache.execute(idempotencyKey, client, "DELETE /tasks/" + id, null, () -> {
+            taskService.deleteTask(id);
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 
     @GetMapping
@@ -66,10 +160,17 @@ public class TaskController {
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "dueDate,asc") String[] sort) {
+            @RequestParam(defaultValue = "dueDate,asc") String[] sort,
+            @RequestParam(name = "include_deleted", defaultValue = "false") boolean includeDeleted,
+            @RequestParam(name = "deleted_since", required = false) Long deletedSince) {
 
         // Convert to 0-based page index for Spring Data
         int pageNumber = page > 0 ? page - 1 : 0;
+
+        // Change feed of deletions, ordered by deletion sequence
+        if (deletedSince != null) {
+            return taskService.listDeleted(deletedSince, pageNumber, size).map(TaskResponse::from);
+        }
         
         // Parse sort parameters
         Sort sortBy = Sort.by(
@@ -85,7 +186,7 @@ public class TaskController {
                 .collect(Collectors.toList())
         );
 
-        Page<Task> tasks = taskService.listTasks(status, pageNumber, size, sortBy);
+        Page<Task> tasks = taskService.listTasks(status, pageNumber, size, sortBy, includeDeleted);
         
         return tasks.map(TaskResponse::from);
     }
@@ -0,0 +1,15 @@
+package org.example.task.web;
+
+import org.example.task.web.error.ApiError;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+// Types serialized by Jackson that AOT cannot infer from controller signatures:
+// ApiError is written directly by filters, and Page<T> is rendered as PageImpl.
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({ApiError.class, PageImpl.class, PageRequest.class, Sort.class})
+public class WebRuntimeHints {
+}
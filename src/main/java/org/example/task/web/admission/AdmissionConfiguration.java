@@ -0,0 +1,51 @@
+package org.example.task.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.task.application.TaskService;
+import org.example.task.web.ClientIdentityResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "task.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionConfiguration {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(AdmissionProperties properties) {
+        return new TokenBucketRateLimiter(
+                properties.getRatePerSecond(),
+                properties.getBurst(),
+                properties.getMaxTrackedClients()
+        );
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(AdmissionProperties properties) {
+        return new ConcurrencyLimiter(properties.getMaxConcurrentCost());
+    }
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionProperties properties,
+                                                         TokenBucketRateLimiter rateLimiter,
+                                                         ConcurrencyLimiter concurrencyLimiter,
+                                                         ClientIdentityResolver clientIdentity,
+                                                         TaskService taskService,
+                                                         ObjectMapper objectMapper) {
+        return new AdmissionControlFilter(properties, rateLimiter, concurrencyLimiter, clientIdentity,
+                taskService, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.task.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.task.application.TaskService;
+import org.example.task.web.ClientIdentityResolver;
+import org.example.task.web.error.ApiError;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+    private final AdmissionProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ClientIdentityResolver clientIdentity;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+
+    public AdmissionControlFilter(AdmissionProperties properties,
+                                  TokenBucketRateLimiter rateLimiter,
+                                  ConcurrencyLimiter concurrencyLimiter,
+                                  ClientIdentityResolver clientIdentity,
+                                  TaskService taskService,
+                                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientIdentity = clientIdentity;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > properties.getMaxBodyBytes()) {
+            tooLarge.increment();
+            rejectTooLarge(response);
+            return;
+        }
+        if (contentLength < 0) {
+            request = new BoundedBodyRequest(request, properties.getMaxBodyBytes());
+        }
+
+        int cost = estimateCost(request);
+
+        long waitNanos = rateLimiter.tryAcquire(clientIdentity.resolve(request), cost);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, retryAfterSeconds(waitNanos), "rate_limited");
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire(cost)) {
+            overloaded.increment();
+            reject(response, 1, "overloaded");
+            return;
+        }
+
+        admitted.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(cost);
+        }
+    }
+
+    int estimateCost(HttpServletRequest request) {
+        if ("POST".equals(request.getMethod()) && isBatchPath(request)) {
+            return batchCost(request.getContentLengthLong());
+        }
+        if (!"GET".equals(request.getMethod()) || !isListPath(request)) {
+            return 1;
+        }
+        long size = parseSize(request.getParameter("size"));
+        long n = taskService.countTasks();
+        double scanWork = n < 2 ? n : n * (Math.log(n) / Math.log(2));
+
+        long cost = 1
+                + (size + properties.getListSizeUnit() - 1) / properties.getListSizeUnit()
+                + (long) (scanWork / properties.getScanCostUnit());
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    // The body has not been parsed yet, so its size stands in for the element
+    // count. A body of unknown length is charged as if it were the largest
+    // body admitted.
+    private int batchCost(long contentLength) {
+        if (contentLength < 0) {
+            contentLength = properties.getMaxBodyBytes();
+        }
+        long cost = 1 + (contentLength + properties.getBatchBytesUnit() - 1) / properties.getBatchBytesUnit();
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    private boolean isListPath(HttpServletRequest request) {
+        String path = pathOf(request);
+        return path.equals("/tasks") || path.equals("/tasks/");
+    }
+
+    private boolean isBatchPath(HttpServletRequest request) {
+        return pathOf(request).equals("/tasks/batch");
+    }
+
+    private String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private long parseSize(String size) {
+        if (size == null) {
+            return 10;
+        }
+        try {
+            return Math.max(0, Long.parseLong(size.trim()));
+        } catch (NumberFormatException ex) {
+            return 10;
+        }
+    }
+
+    private long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String reason) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiError("Too many requests", Map.of("reason", reason)));
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiError("Request body too large", Map.of("max_bytes", Long.toString(properties.getMaxBodyBytes()))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.admission.requests", admitted, LongAdder::sum)
+                .tag("outcome", "admitted")
+                .register(registry);
+        FunctionCounter.builder("task.admission.requests", rateLimited, LongAdder::sum)
+                .tag("outcome", "rate_limited")
+                .register(registry);
+        FunctionCounter.builder("task.admission.requests", overloaded, LongAdder::sum)
+                .tag("outcome", "overloaded")
+                .register(registry);
+        FunctionCounter.builder("task.admission.requests", tooLarge, LongAdder::sum)
+                .tag("outcome", "too_large")
+                .register(registry);
+        Gauge.builder("task.admission.inflight.cost", concurrencyLimiter, ConcurrencyLimiter::inFlight)
+                .register(registry);
+        Gauge.builder("task.admission.capacity.cost", concurrencyLimiter, ConcurrencyLimiter::capacity)
+                .register(registry);
+        Gauge.builder("task.admission.clients", rateLimiter, TokenBucketRateLimiter::trackedClients)
+                .register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.task.web.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "task.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+
+    // Per-client token bucket, in cost units.
+    private double ratePerSecond = 100;
+    private int burst = 200;
+    private int maxTrackedClients = 10_000;
+
+    // Global budget of cost units that may be in flight at once.
+    private int maxConcurrentCost = 256;
+
+    // A list request costs one unit per listSizeUnit requested rows plus
+    // one unit per scanCostUnit of estimated n*log2(n) sort work.
+    private int listSizeUnit = 100;
+    private long scanCostUnit = 100_000;
+
+    // A batch create costs one unit plus one per batchBytesUnit of request
+    // body, roughly a dozen JSON-encoded tasks.
+    private int batchBytesUnit = 2_048;
+
+    // Larger bodies are rejected with 413 before they are read.
+    private long maxBodyBytes = 2L << 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    public int getMaxConcurrentCost() {
+        return maxConcurrentCost;
+    }
+
+    public void setMaxConcurrentCost(int maxConcurrentCost) {
+        this.maxConcurrentCost = maxConcurrentCost;
+    }
+
+    public int getListSizeUnit() {
+        return listSizeUnit;
+    }
+
+    public void setListSizeUnit(int listSizeUnit) {
+        this.listSizeUnit = listSizeUnit;
+    }
+
+    public long getScanCostUnit() {
+        return scanCostUnit;
+    }
+
+    public void setScanCostUnit(long scanCostUnit) {
+        this.scanCostUnit = scanCostUnit;
+    }
+
+    public int getBatchBytesUnit() {
+        return batchBytesUnit;
+    }
+
+    public void setBatchBytesUnit(int batchBytesUnit) {
+        this.batchBytesUnit = batchBytesUnit;
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.task.web.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global budget of in-flight cost units. Requests whose cost does not fit are
+ * rejected immediately instead of queueing behind expensive ones.
+ */
+public class ConcurrencyLimiter {
+    private final int capacity;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public boolean tryAcquire(int cost) {
+        int permits = clamp(cost);
+        while (true) {
+            int current = inFlight.get();
+            if (current + permits > capacity) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + permits)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(int cost) {
+        inFlight.addAndGet(-clamp(cost));
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // A single request may use the whole budget but never more, otherwise it
+    // could not be admitted even on an idle server.
+    private int clamp(int cost) {
+        return Math.max(1, Math.min(cost, capacity));
+    }
+}
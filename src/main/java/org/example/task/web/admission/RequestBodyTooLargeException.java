@@ -0,0 +1,20 @@
+package org.example.task.web.admission;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a request body of undeclared length once it grows past
+ * the admission limit.
+ */
+public class RequestBodyTooLargeException extends IOException {
+    private final long maxBytes;
+
+    public RequestBodyTooLargeException(long maxBytes) {
+        super("Request body exceeds " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.task.web.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets implemented as GCRA: each bucket is a single
+ * theoretical-arrival timestamp updated with one CAS, so admitting a known
+ * client never takes a lock.
+ */
+public class TokenBucketRateLimiter {
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow = new Bucket();
+    private final AtomicLong nextSweepAt = new AtomicLong(Long.MIN_VALUE);
+    private final long emissionIntervalNanos;
+    private final int burst;
+    private final int maxTrackedClients;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst, int maxTrackedClients) {
+        this(ratePerSecond, burst, maxTrackedClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, int maxTrackedClients, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = burst;
+        this.maxTrackedClients = maxTrackedClients;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 0 when the permits were granted, otherwise the nanoseconds to
+     * wait before the same request could succeed
+     */
+    public long tryAcquire(String clientKey, int permits) {
+        long now = nanoClock.getAsLong();
+        return bucketFor(clientKey, now).tryAcquire(Math.min(permits, burst), now);
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private Bucket bucketFor(String clientKey, long now) {
+        Bucket bucket = buckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxTrackedClients) {
+            if (!sweep(now) || buckets.size() >= maxTrackedClients) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(clientKey, k -> new Bucket());
+    }
+
+    // Buckets that have refilled completely carry no state worth keeping. At
+    // most one sweep runs per full refill period, since no bucket can become
+    // full faster than that; misses in between share the overflow bucket.
+    private boolean sweep(long now) {
+        long due = nextSweepAt.get();
+        if (due != Long.MIN_VALUE && now - due < 0) {
+            return false;
+        }
+        if (!nextSweepAt.compareAndSet(due, now + emissionIntervalNanos * burst)) {
+            return false;
+        }
+        buckets.values().removeIf(b -> b.isFull(now));
+        return true;
+    }
+
+    private final class Bucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        long tryAcquire(int permits, long now) {
+            long increment = emissionIntervalNanos * permits;
+            long tolerance = emissionIntervalNanos * burst;
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+                long next = base + increment;
+                long waitNanos = next - now - tolerance;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            long tat = theoreticalArrival.get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.task.web.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the binary encodings after the JSON converter so JSON stays the
+ * default, and replaces the stock CBOR converter with one using TaskCbor.
+ */
+@Configuration
+public class BinaryCodecConfiguration implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+    private final int maxBatchSize;
+
+    public BinaryCodecConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> builders,
+                                    @Value("${task.batch.max-size:1000}") int maxBatchSize) {
+        this.builders = builders;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = TaskCbor.createMapper(builders.getIfAvailable(Jackson2ObjectMapperBuilder::new));
+
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new LengthPrefixedCborHttpMessageConverter(cborMapper, maxBatchSize));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.task.web.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Streams collections as a sequence of frames, each a 4-byte big-endian length
+ * followed by one CBOR-encoded element. Readers can decode elements as they
+ * arrive instead of buffering a whole array. For a page, the total element
+ * count is sent in the X-Total-Count header. Reading stops with a 400 as soon
+ * as a body carries more than maxElements frames.
+ */
+public class LengthPrefixedCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private final ObjectMapper cborMapper;
+    private final int maxElements;
+
+    public LengthPrefixedCborHttpMessageConverter(ObjectMapper cborMapper, int maxElements) {
+        super(TaskCbor.STREAM);
+        this.cborMapper = cborMapper;
+        this.maxElements = maxElements;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Iterable.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        return Collection.class.isAssignableFrom(resolved.toClass())
+                && resolved.asCollection().resolveGeneric(0) != null
+                && canRead(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        JavaType elementType = cborMapper.constructType(ResolvableType.forType(type).asCollection().resolveGeneric(0));
+        DataInputStream in = new DataInputStream(inputMessage.getBody());
+        List<Object> elements = new ArrayList<>();
+        int first;
+        while ((first = in.read()) != -1) {
+            if (elements.size() == maxElements) {
+                throw new HttpMessageNotReadableException(
+                        "Stream must not contain more than " + maxElements + " elements", inputMessage);
+            }
+            try {
+                int length = (first << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+                if (length < 0 || length > MAX_FRAME_BYTES) {
+                    throw new HttpMessageNotReadableException("Invalid frame length: " + length, inputMessage);
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                elements.add(cborMapper.readValue(frame, elementType));
+            } catch (EOFException truncated) {
+                throw new HttpMessageNotReadableException("Truncated frame", truncated, inputMessage);
+            }
+        }
+        return elements;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        throw new HttpMessageNotReadableException("Element type of " + clazz.getName() + " is unknown", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (value instanceof Page<?> page) {
+            outputMessage.getHeaders().set(TOTAL_COUNT_HEADER, Long.toString(page.getTotalElements()));
+        }
+        DataOutputStream out = new DataOutputStream(outputMessage.getBody());
+        for (Object element : (Iterable<?>) value) {
+            byte[] frame = cborMapper.writeValueAsBytes(element);
+            out.writeInt(frame.length);
+            out.write(frame);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.task.web.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Compact binary encoding for high-volume clients. Same property names as the
+ * JSON API, but dates are written as epoch days and enums as ordinals.
+ */
+public final class TaskCbor {
+    public static final String STREAM_VALUE = "application/vnd.task-stream+cbor";
+    public static final MediaType STREAM = MediaType.valueOf(STREAM_VALUE);
+
+    private TaskCbor() {
+    }
+
+    public static ObjectMapper createMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .serializerByType(LocalDate.class, new EpochDaySerializer())
+                .deserializerByType(LocalDate.class, new EpochDayDeserializer())
+                .build();
+    }
+
+    static final class EpochDaySerializer extends JsonSerializer<LocalDate> {
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toEpochDay());
+        }
+    }
+
+    static final class EpochDayDeserializer extends JsonDeserializer<LocalDate> {
+        @Override
+        public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDate.ofEpochDay(p.getLongValue());
+            }
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    return LocalDate.parse(p.getText());
+                } catch (DateTimeParseException ex) {
+                    throw ctxt.weirdStringException(p.getText(), LocalDate.class, ex.getMessage());
+                }
+            }
+            return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.task.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.task.application.AggregateBucket;
+import org.example.task.application.TaskAggregates;
+import org.example.task.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class TaskAggregatesResponse {
+    private AggregateBucket bucket;
+    private List<BucketCounts> buckets;
+    private Map<TaskStatus, Long> overdue;
+
+    public static TaskAggregatesResponse from(AggregateBucket bucket,
+                                              List<TaskAggregates.Row> rows,
+                                              Map<TaskStatus, Long> overdue) {
+        TaskAggregatesResponse dto = new TaskAggregatesResponse();
+        dto.bucket = bucket;
+        dto.buckets = rows.stream().map(BucketCounts::from).collect(Collectors.toList());
+        dto.overdue = overdue;
+        return dto;
+    }
+
+    public AggregateBucket getBucket() {
+        return bucket;
+    }
+
+    public List<BucketCounts> getBuckets() {
+        return buckets;
+    }
+
+    public Map<TaskStatus, Long> getOverdue() {
+        return overdue;
+    }
+
+    public static class BucketCounts {
+        @JsonProperty("bucket_start")
+        private LocalDate bucketStart;
+        private Map<TaskStatus, Long> counts;
+        private long total;
+
+        static BucketCounts from(TaskAggregates.Row row) {
+            BucketCounts dto = new BucketCounts();
+            dto.bucketStart = row.getBucketStart();
+            dto.counts = row.getCounts();
+            dto.total = row.getTotal();
+            return dto;
+        }
+
+        public LocalDate getBucketStart() {
+            return bucketStart;
+        }
+
+        public Map<TaskStatus, Long> getCounts() {
+            return counts;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package org.example.task.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.example.task.domain.Task;
 import org.example.task.domain.TaskStatus;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 public class TaskResponse {
@@ -15,6 +17,14 @@ public class TaskResponse {
     @JsonProperty("due_date")
     private LocalDate dueDate;
 
+    @JsonProperty("deleted_seq")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long deletedSequence;
+
+    @JsonProperty("deleted_at")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant deletedAt;
+
     public static TaskResponse from(Task task) {
         TaskResponse dto = new TaskResponse();
         dto.id = task.getId();
@@ -22,6 +32,10 @@ public class TaskResponse {
         dto.description = task.getDescription();
         dto.status = task.getStatus();
         dto.dueDate = task.getDueDate();
+        if (task.isDeleted()) {
+            dto.deletedSequence = task.getDeletedSequence();
+            dto.deletedAt = task.getDeletedAt();
+        }
         return dto;
     }
 
@@ -44,4 +58,12 @@ public class TaskResponse {
     public LocalDate getDueDate() {
         return dueDate;
     }
+
+    public Long getDeletedSequence() {
+        return deletedSequence;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
 }
@@ -1,13 +1,19 @@
 package org.example.task.web.error;
 
+import org.example.task.domain.DeletionHistoryPurgedException;
 import org.example.task.domain.TaskNotFoundException;
+import org.example.task.web.admission.RequestBodyTooLargeException;
+import org.example.task.web.idempotency.IdempotencyKeyReusedException;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +27,19 @@ public class GlobalExceptionHandler {
                 .body(new ApiError(ex.getMessage(), null));
     }
 
+    @ExceptionHandler(DeletionHistoryPurgedException.class)
+    public ResponseEntity<ApiError> handleDeletionHistoryPurged(DeletionHistoryPurgedException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(new ApiError(ex.getMessage(),
+                        Map.of("purged_through", Long.toString(ex.getPurgedThrough()))));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ApiError(ex.getMessage(), null));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, String> details = new HashMap<>();
@@ -31,8 +50,29 @@ public class GlobalExceptionHandler {
                 .body(new ApiError("Validation failed", details));
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiError> handleMethodValidation(HandlerMethodValidationException ex) {
+        Map<String, String> details = new HashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String prefix = result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]." : "";
+            for (MessageSourceResolvable error : result.getResolvableErrors()) {
+                String field = error instanceof FieldError fieldError
+                        ? fieldError.getField()
+                        : result.getMethodParameter().getParameterName();
+                details.put(prefix + field, error.getDefaultMessage());
+            }
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiError("Validation failed", details));
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiError> handleBadJson(HttpMessageNotReadableException ex) {
+        if (ex.getMostSpecificCause() instanceof RequestBodyTooLargeException tooLarge) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new ApiError("Request body too large",
+                            Map.of("max_bytes", Long.toString(tooLarge.getMaxBytes()))));
+        }
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ApiError("Malformed JSON request", null));
     }
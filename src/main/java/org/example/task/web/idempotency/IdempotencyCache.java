@@ -0,0 +1,186 @@
+package org.example.task.web.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to a mutation by its Idempotency-Key so a retried
+ * request gets the original response instead of being executed again. Keys
+ * are scoped per client, and a key reused with a different request body is
+ * rejected rather than replayed.
+ * Concurrent duplicates share the future of the first request and wait for it.
+ * Failed executions are not cached, so a retry after an error runs again.
+ * All entries share one TTL, which means insertion order is also expiry
+ * order. Eviction can therefore just drain a FIFO queue from its head.
+ * Entries dropped early (failures, expiry on lookup) leave a dead node in the
+ * queue that eviction skips, and only entries still in the map count toward
+ * max-entries. An entry whose request is still running is never evicted, so
+ * a retry always joins it instead of executing the action a second time.
+ */
+@Component
+public class IdempotencyCache {
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public IdempotencyCache(@Value("${task.idempotency.ttl:1h}") Duration ttl,
+                            @Value("${task.idempotency.max-entries:100000}") int maxEntries,
+                            ObjectMapper objectMapper) {
+        this(ttl, maxEntries, objectMapper, System::nanoTime);
+    }
+
+    IdempotencyCache(Duration ttl, int maxEntries, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param client identity of the caller, so keys of different clients never collide
+     * @param request the request body, fingerprinted to detect a reused key; may be null
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public <T> ResponseEntity<T> execute(String key, String client, String scope, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String cacheKey = client + '\n' + scope + '\n' + key;
+        byte[] fingerprint = fingerprint(request);
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            Entry existing = entries.get(cacheKey);
+            if (existing != null) {
+                if (now - existing.createdAt < ttlNanos || !existing.response.isDone()) {
+                    if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+                        throw new IdempotencyKeyReusedException(key);
+                    }
+                    return replay(existing);
+                }
+                discard(existing);
+                continue;
+            }
+
+            Entry entry = new Entry(cacheKey, fingerprint, now);
+            if (entries.putIfAbsent(cacheKey, entry) != null) {
+                continue;
+            }
+            insertionOrder.add(entry);
+            queued.incrementAndGet();
+            return run(entry, action);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) entry.response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private <T> ResponseEntity<T> run(Entry entry, Supplier<ResponseEntity<T>> action) {
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response.complete(response);
+            // Only a completed entry makes room, so failures never push out others.
+            evict(nanoClock.getAsLong());
+            return response;
+        } catch (RuntimeException | Error ex) {
+            discard(entry);
+            entry.response.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null) {
+            if (entries.get(head.key) == head) {
+                if (!head.response.isDone()) {
+                    break;
+                }
+                if (now - head.createdAt < ttlNanos && queued.get() <= maxEntries) {
+                    break;
+                }
+            }
+            if (insertionOrder.remove(head)) {
+                discard(head);
+            }
+        }
+    }
+
+    // Whoever removes the entry from the map uncounts it, exactly once.
+    private void discard(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        if (request == null) {
+            return new byte[0];
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot fingerprint request", ex);
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final byte[] fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        Entry(String key, byte[] fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
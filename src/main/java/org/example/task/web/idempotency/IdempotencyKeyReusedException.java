@@ -0,0 +1,7 @@
+package org.example.task.web.idempotency;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key was already used for a different request: " + key);
+    }
+}
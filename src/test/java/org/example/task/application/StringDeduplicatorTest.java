@@ -0,0 +1,42 @@
+package org.example.task.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDeduplicatorTest {
+
+    @Test
+    void returnsCanonicalInstance_forEqualStrings() {
+        StringDeduplicator pool = new StringDeduplicator();
+
+        String first = new String("Weekly report");
+        String second = new String("Weekly report");
+
+        assertSame(first, pool.dedup(first));
+        assertSame(first, pool.dedup(second));
+        assertEquals(0.5, pool.hitRate());
+        assertEquals(StringDeduplicator.estimateRetainedBytes(second), pool.bytesDeduplicated());
+    }
+
+    @Test
+    void skipsNullAndOversizedValues() {
+        StringDeduplicator pool = new StringDeduplicator(16, 4);
+
+        assertNull(pool.dedup(null));
+        String longValue = new String("longer than four");
+        assertSame(longValue, pool.dedup(longValue));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed_whenFull() {
+        StringDeduplicator pool = new StringDeduplicator(16, 1024);
+
+        for (int i = 0; i < 1_000; i++) {
+            pool.dedup("value-" + i);
+        }
+
+        assertTrue(pool.size() <= 16);
+    }
+}
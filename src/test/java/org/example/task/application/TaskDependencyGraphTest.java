@@ -0,0 +1,95 @@
+package org.example.task.application;
+
+import org.example.task.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskDependencyGraphTest {
+
+    @Test
+    void taskBecomesReady_whenAllBlockersAreDone() {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        graph.register("a", TaskStatus.PENDING);
+        graph.register("b", TaskStatus.IN_PROGRESS);
+        graph.register("c", TaskStatus.PENDING);
+        graph.addBlocker("c", "a");
+        graph.addBlocker("c", "b");
+
+        assertFalse(graph.readyIds(10).contains("c"));
+
+        graph.onStatusChanged("a", TaskStatus.DONE);
+        assertFalse(graph.readyIds(10).contains("c"));
+
+        graph.onStatusChanged("b", TaskStatus.DONE);
+        assertEquals(List.of("c"), graph.readyIds(10));
+
+        graph.onStatusChanged("a", TaskStatus.PENDING);
+        assertFalse(graph.readyIds(10).contains("c"));
+        assertTrue(graph.readyIds(10).contains("a"));
+    }
+
+    @Test
+    void rejectsCycles() {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        graph.register("a", TaskStatus.PENDING);
+        graph.register("b", TaskStatus.PENDING);
+        graph.register("c", TaskStatus.PENDING);
+        graph.addBlocker("b", "a");
+        graph.addBlocker("c", "b");
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addBlocker("a", "c"));
+        assertThrows(IllegalArgumentException.class, () -> graph.addBlocker("a", "a"));
+        assertEquals(List.of("a"), graph.blockersOf("b"));
+        assertTrue(graph.blockersOf("a").isEmpty());
+    }
+
+    @Test
+    void rejectsCycles_acrossRepeatedSearches_afterTheGraphGrows() {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        for (int i = 0; i < 100; i++) {
+            graph.register("t" + i, TaskStatus.PENDING);
+            if (i > 0) {
+                graph.addBlocker("t" + i, "t" + (i - 1));
+            }
+        }
+
+        for (int i = 0; i < 99; i++) {
+            int blocked = i;
+            assertThrows(IllegalArgumentException.class, () -> graph.addBlocker("t" + blocked, "t99"));
+        }
+        graph.addBlocker("t99", "t0");
+        assertEquals(List.of("t98", "t0"), graph.blockersOf("t99"));
+    }
+
+    @Test
+    void removingBlocker_releasesDependents() {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        graph.register("a", TaskStatus.PENDING);
+        graph.register("b", TaskStatus.PENDING);
+        graph.addBlocker("b", "a");
+
+        graph.remove("a");
+
+        assertEquals(List.of("b"), graph.readyIds(10));
+        assertTrue(graph.blockersOf("b").isEmpty());
+
+        graph.register("c", TaskStatus.PENDING);
+        graph.addBlocker("c", "b");
+        graph.removeBlocker("c", "b");
+        assertTrue(graph.readyIds(10).contains("c"));
+    }
+
+    @Test
+    void readyIds_respectsLimit_andGrowsPastInitialCapacity() {
+        TaskDependencyGraph graph = new TaskDependencyGraph();
+        for (int i = 0; i < 100; i++) {
+            graph.register("t" + i, i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.DONE);
+        }
+
+        assertEquals(50, graph.readyIds(1_000).size());
+        assertEquals(5, graph.readyIds(5).size());
+    }
+}
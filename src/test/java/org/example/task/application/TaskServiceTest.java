@@ -1,5 +1,6 @@
 package org.example.task.application;
 
+import org.example.task.domain.DeletionHistoryPurgedException;
 import org.example.task.domain.Task;
 import org.example.task.domain.TaskNotFoundException;
 import org.example.task.domain.TaskRepository;
@@ -15,6 +16,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -38,6 +40,53 @@ class TaskServiceTest {
         assertEquals(TaskStatus.PENDING, created.getStatus());
     }
 
+    @Test
+    void createTask_sharesRepeatedTitleAndDescriptionInstances() {
+        TaskRepository repo = mock(TaskRepository.class);
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        TaskService service = new TaskService(repo, clock);
+
+        when(repo.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Task a = service.createTask(new String("template"), new String("desc"), null, LocalDate.parse("2026-01-02"));
+        Task b = service.createTask(new String("template"), new String("desc"), null, LocalDate.parse("2026-01-02"));
+
+        assertSame(a.getTitle(), b.getTitle());
+        assertSame(a.getDescription(), b.getDescription());
+    }
+
+    @Test
+    void updateTask_keepsHeldInstance_whenUnchangedTextIsResent() {
+        TaskRepository repo = mock(TaskRepository.class);
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        StringDeduplicator strings = new StringDeduplicator();
+        TaskService service = new TaskService(repo, strings, new TaskAggregates(), new TaskDependencyGraph(), clock);
+
+        when(repo.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        Task created = service.createTask(new String("template"), null, null, LocalDate.parse("2026-01-02"));
+        String held = created.getTitle();
+        when(repo.findById(created.getId())).thenReturn(Optional.of(created));
+
+        service.updateTask(created.getId(), new String("template"), null, TaskStatus.DONE, null);
+
+        assertSame(held, created.getTitle());
+        assertEquals(0, strings.bytesDeduplicated());
+    }
+
+    @Test
+    void listDeleted_rejectsCursorOlderThanPurgedTombstones() {
+        TaskRepository repo = mock(TaskRepository.class);
+        TaskService service = new TaskService(repo, Clock.systemUTC());
+
+        when(repo.findDeletedSince(anyLong())).thenReturn(List.of());
+        when(repo.purgedDeletedThrough()).thenReturn(5L);
+
+        DeletionHistoryPurgedException ex = assertThrows(DeletionHistoryPurgedException.class,
+                () -> service.listDeleted(4, 0, 10));
+        assertEquals(5L, ex.getPurgedThrough());
+        assertEquals(0, service.listDeleted(5, 0, 10).getTotalElements());
+    }
+
     @Test
     void getTask_throwsNotFound() {
         TaskRepository repo = mock(TaskRepository.class);
@@ -70,6 +119,66 @@ class TaskServiceTest {
         assertEquals("1", captor.getValue().getId());
     }
 
+    @Test
+    void aggregates_trackStatusAndDueDateTransitions() {
+        TaskRepository repo = mock(TaskRepository.class);
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        TaskService service = new TaskService(repo, clock);
+
+        when(repo.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        Task created = service.createTask("t", null, TaskStatus.PENDING, LocalDate.parse("2026-01-07"));
+        when(repo.findById(created.getId())).thenReturn(Optional.of(created));
+
+        service.updateTask(created.getId(), null, null, TaskStatus.DONE, LocalDate.parse("2026-02-03"));
+
+        List<TaskAggregates.Row> weeks = service.getAggregates(AggregateBucket.WEEK, null, null);
+        assertEquals(1, weeks.size());
+        assertEquals(LocalDate.parse("2026-02-02"), weeks.get(0).getBucketStart());
+        assertEquals(1L, weeks.get(0).getCounts().get(TaskStatus.DONE));
+        assertEquals(0L, weeks.get(0).getCounts().get(TaskStatus.PENDING));
+
+        List<TaskAggregates.Row> months = service.getAggregates(AggregateBucket.MONTH, null, null);
+        assertEquals(List.of(LocalDate.parse("2026-02-01")),
+                months.stream().map(TaskAggregates.Row::getBucketStart).toList());
+    }
+
+    @Test
+    void aggregates_countOverdueTasksByStatus() {
+        TaskAggregates aggregates = new TaskAggregates();
+        aggregates.onCreated(TaskStatus.PENDING, LocalDate.parse("2026-01-02"));
+        aggregates.onCreated(TaskStatus.IN_PROGRESS, LocalDate.parse("2026-01-03"));
+        aggregates.onCreated(TaskStatus.PENDING, LocalDate.parse("2026-01-10"));
+        aggregates.onDeleted(TaskStatus.IN_PROGRESS, LocalDate.parse("2026-01-03"));
+
+        Map<TaskStatus, Long> overdue = aggregates.overdue(LocalDate.parse("2026-01-05"));
+
+        assertEquals(1L, overdue.get(TaskStatus.PENDING));
+        assertEquals(0L, overdue.get(TaskStatus.IN_PROGRESS));
+        assertEquals(0L, overdue.get(TaskStatus.DONE));
+    }
+
+    @Test
+    void aggregates_dropEmptyBuckets_andAdvanceOverdueWithTheDate() {
+        TaskAggregates aggregates = new TaskAggregates();
+        aggregates.onCreated(TaskStatus.PENDING, LocalDate.parse("2026-01-02"));
+        assertEquals(1L, aggregates.overdue(LocalDate.parse("2026-01-05")).get(TaskStatus.PENDING));
+
+        aggregates.onCreated(TaskStatus.PENDING, LocalDate.parse("2026-01-07"));
+        aggregates.onUpdated(TaskStatus.PENDING, LocalDate.parse("2026-01-02"),
+                TaskStatus.DONE, LocalDate.parse("2026-01-03"));
+
+        Map<TaskStatus, Long> overdue = aggregates.overdue(LocalDate.parse("2026-01-08"));
+        assertEquals(1L, overdue.get(TaskStatus.PENDING));
+        assertEquals(1L, overdue.get(TaskStatus.DONE));
+        assertEquals(0L, aggregates.overdue(LocalDate.parse("2026-01-03")).get(TaskStatus.DONE));
+        assertEquals(List.of(LocalDate.parse("2026-01-03"), LocalDate.parse("2026-01-07")),
+                aggregates.query(AggregateBucket.DAY, null, null).stream()
+                        .map(TaskAggregates.Row::getBucketStart).toList());
+        assertEquals(List.of(LocalDate.parse("2026-01-07")),
+                aggregates.query(AggregateBucket.DAY, LocalDate.parse("2026-01-04"), LocalDate.parse("2026-01-31"))
+                        .stream().map(TaskAggregates.Row::getBucketStart).toList());
+    }
+
     @Test
     void listTasks_sortsByDueDate_andCanFilterByStatus() {
         TaskRepository repo = mock(TaskRepository.class);
@@ -87,6 +196,7 @@ class TaskServiceTest {
                     .collect(Collectors.toList());
             return new PageImpl<>(filtered);
         });
+        when(repo.findPageByDueDate(any(), anyBoolean(), any())).thenCallRealMethod();
 
         // Test with all tasks (status = null)
         Page<Task> allPage = service.listTasks(null, 0, 10, Sort.by("dueDate"));
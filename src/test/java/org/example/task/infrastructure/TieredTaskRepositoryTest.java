@@ -0,0 +1,236 @@
+package org.example.task.infrastructure;
+
+import org.example.task.domain.Task;
+import org.example.task.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredTaskRepositoryTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void migrate_spillsOnlyDoneTasks_andServesThemFromSegments() throws Exception {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100_000, 8, CLOCK);
+        for (int i = 0; i < 1000; i++) {
+            repo.save(task(String.format("done-%04d", i), TaskStatus.DONE));
+        }
+        repo.save(task("pending", TaskStatus.PENDING));
+
+        repo.migrate();
+
+        assertEquals(1, repo.hotCount());
+        assertEquals(1000, repo.coldCount());
+        assertEquals(1001, repo.count());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        for (int i = 0; i < 1000; i += 37) {
+            Task cold = repo.findById(String.format("done-%04d", i)).orElseThrow();
+            assertEquals("title", cold.getTitle());
+            assertNull(cold.getDescription());
+            assertEquals(LocalDate.parse("2026-02-01"), cold.getDueDate());
+        }
+        assertTrue(repo.findById("done-10000").isEmpty());
+        assertTrue(repo.findById("a").isEmpty());
+        assertEquals(List.of("pending"), repo.findByStatus(TaskStatus.PENDING, Pageable.unpaged())
+                .map(Task::getId).getContent());
+        assertEquals(1000, repo.findByStatus(TaskStatus.DONE, Pageable.unpaged()).getTotalElements());
+        assertEquals(1001, repo.findAll().size());
+    }
+
+    @Test
+    void coldTask_movesBackToHotTier_whenSavedAgain() {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100_000, 8, CLOCK);
+        repo.save(task("1", TaskStatus.DONE));
+        repo.migrate();
+
+        Task cold = repo.findById("1").orElseThrow();
+        assertSame(cold, repo.findById("1").orElseThrow());
+        cold.setStatus(TaskStatus.IN_PROGRESS);
+        repo.save(cold);
+
+        assertEquals(1, repo.hotCount());
+        assertEquals(0, repo.coldCount());
+        assertEquals(1, repo.findAll().size());
+        assertEquals(TaskStatus.IN_PROGRESS, repo.findById("1").orElseThrow().getStatus());
+        assertEquals(0, repo.findByStatus(TaskStatus.DONE, Pageable.unpaged()).getTotalElements());
+
+        cold.setStatus(TaskStatus.DONE);
+        repo.save(cold);
+        repo.migrate();
+
+        assertEquals(1, repo.coldCount());
+        assertEquals(1, repo.findAll().size());
+        assertEquals(TaskStatus.DONE, repo.findById("1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void delete_tombstonesColdTask() {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100_000, 8, CLOCK);
+        repo.save(task("1", TaskStatus.DONE));
+        repo.migrate();
+
+        Task deleted = repo.delete("1", CLOCK.instant()).orElseThrow();
+
+        assertTrue(deleted.isDeleted());
+        assertTrue(repo.findById("1").isEmpty());
+        assertFalse(repo.existsById("1"));
+        assertEquals(0, repo.count());
+        assertEquals(List.of(deleted), repo.findDeletedSince(0));
+        assertTrue(repo.delete("1", CLOCK.instant()).isEmpty());
+    }
+
+    @Test
+    void compaction_mergesSegments_andDropsSupersededRecords() throws Exception {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100_000, 2, CLOCK);
+        for (int i = 0; i < 3; i++) {
+            repo.save(task("a" + i, TaskStatus.DONE));
+            repo.save(task("b" + i, TaskStatus.DONE));
+            repo.migrate();
+        }
+        assertEquals(1, repo.segmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        repo.delete("a0", CLOCK.instant());
+        Task reheated = repo.findById("b0").orElseThrow();
+        reheated.setStatus(TaskStatus.PENDING);
+        repo.save(reheated);
+        repo.compact();
+
+        assertEquals(4, repo.coldCount());
+        assertEquals(5, repo.count());
+        assertTrue(repo.findById("a0").isEmpty());
+        assertEquals(TaskStatus.PENDING, repo.findById("b0").orElseThrow().getStatus());
+        assertEquals(4, repo.findByStatus(TaskStatus.DONE, Pageable.unpaged()).getTotalElements());
+        assertEquals(5, repo.findAll().size());
+
+        reheated.setStatus(TaskStatus.DONE);
+        repo.save(reheated);
+        repo.migrate();
+        repo.compact();
+
+        assertEquals(5, repo.coldCount());
+        assertEquals(0, repo.hotCount());
+        assertEquals(TaskStatus.DONE, repo.findById("b0").orElseThrow().getStatus());
+    }
+
+    @Test
+    void compaction_splitsLiveRecordsAtMaxSegmentRecords() {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100, 8, CLOCK);
+        for (int i = 0; i < 250; i++) {
+            repo.save(task(String.format("t-%03d", i), TaskStatus.DONE));
+        }
+        repo.migrate();
+        repo.migrate();
+        repo.migrate();
+
+        repo.compact();
+
+        assertEquals(3, repo.segmentCount());
+        assertEquals(250, repo.coldCount());
+        for (int i = 0; i < 250; i += 7) {
+            assertTrue(repo.existsById(String.format("t-%03d", i)));
+        }
+        assertFalse(repo.existsById("t-250"));
+    }
+
+    @Test
+    void compaction_runsAlongsideSaves_andKeepsTheirSupersedeMarks() throws Exception {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 1_000, 8, CLOCK);
+        for (int i = 0; i < 5_000; i++) {
+            repo.save(task(String.format("t-%04d", i), TaskStatus.DONE));
+        }
+        for (int i = 0; i < 5; i++) {
+            repo.migrate();
+        }
+
+        Thread merge = new Thread(repo::compact);
+        merge.start();
+        for (int i = 0; i < 5_000; i += 2) {
+            Task task = repo.findById(String.format("t-%04d", i)).orElseThrow();
+            task.setStatus(TaskStatus.PENDING);
+            repo.save(task);
+        }
+        merge.join();
+
+        assertEquals(2_500, repo.coldCount());
+        assertEquals(2_500, repo.hotCount());
+        assertEquals(5_000, repo.findAll().size());
+        assertEquals(2_500, repo.findByStatus(TaskStatus.DONE, Pageable.unpaged()).getTotalElements());
+        repo.compact();
+        assertEquals(2_500, repo.coldCount());
+        assertEquals(3, repo.segmentCount());
+    }
+
+    @Test
+    void findPageByDueDate_mergesHotTasksWithColdSortKeys() {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ZERO, 100_000, 8, CLOCK);
+        LocalDate start = LocalDate.parse("2026-02-01");
+        for (int i = 0; i < 300; i++) {
+            // Ids and due dates run in opposite directions across three segments.
+            repo.save(new Task(String.format("t-%03d", i), "title", null, TaskStatus.DONE, start.plusDays(300 - i)));
+            if (i % 100 == 99) {
+                repo.migrate();
+            }
+        }
+        for (int i = 0; i < 300; i += 3) {
+            Task task = repo.findById(String.format("t-%03d", i)).orElseThrow();
+            task.setStatus(TaskStatus.PENDING);
+            repo.save(task);
+        }
+        repo.delete("t-001", CLOCK.instant());
+
+        Page<Task> first = repo.findPageByDueDate(null, false, PageRequest.of(0, 10));
+        assertEquals(299, first.getTotalElements());
+        assertEquals(List.of("t-299", "t-298", "t-297", "t-296", "t-295", "t-294", "t-293", "t-292", "t-291", "t-290"),
+                first.map(Task::getId).getContent());
+
+        List<String> done = new ArrayList<>();
+        for (int page = 0; page < 20; page++) {
+            repo.findPageByDueDate(TaskStatus.DONE, false, PageRequest.of(page, 25)).forEach(t -> done.add(t.getId()));
+        }
+        assertEquals(199, done.size());
+        assertEquals("t-299", done.get(0));
+        assertEquals("t-002", done.get(198));
+
+        Page<Task> last = repo.findPageByDueDate(null, true, PageRequest.of(29, 10));
+        assertEquals(300, last.getTotalElements());
+        assertEquals(List.of("t-002", "t-001", "t-000"), last.map(Task::getId).getContent().subList(7, 10));
+    }
+
+    @Test
+    void migrate_keepsRecentlyCompletedTasksHot() {
+        TieredTaskRepository repo = new TieredTaskRepository(directory, Duration.ofHours(1), 100_000, 8, CLOCK);
+        repo.save(task("1", TaskStatus.DONE));
+
+        repo.migrate();
+
+        assertEquals(1, repo.hotCount());
+        assertEquals(0, repo.coldCount());
+    }
+
+    private static Task task(String id, TaskStatus status) {
+        return new Task(id, "title", null, status, LocalDate.parse("2026-02-01"));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.task.infrastructure;
+
+import org.example.task.domain.Task;
+import org.example.task.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TombstoneCompactorTest {
+
+    @Test
+    void compact_purgesOnlyTombstonesOlderThanRetention() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Instant now = Instant.parse("2026-01-02T00:00:00Z");
+        for (int i = 0; i < 600; i++) {
+            repo.save(task("old-" + i));
+            repo.delete("old-" + i, now.minus(Duration.ofHours(25)));
+        }
+        repo.save(task("recent"));
+        repo.delete("recent", now.minus(Duration.ofHours(1)));
+
+        TombstoneCompactor compactor = new TombstoneCompactor(repo, Duration.ofHours(24), Duration.ofSeconds(5),
+                Clock.fixed(now, ZoneOffset.UTC));
+        compactor.compact();
+
+        List<Task> remaining = repo.findDeletedSince(0);
+        assertEquals(1, remaining.size());
+        assertEquals("recent", remaining.get(0).getId());
+        assertEquals(601, remaining.get(0).getDeletedSequence());
+        assertEquals(600, repo.purgedDeletedThrough());
+    }
+
+    @Test
+    void delete_returnsEmpty_forUnknownOrAlreadyDeletedTask() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        repo.save(task("1"));
+
+        assertTrue(repo.delete("1", Instant.EPOCH).isPresent());
+        assertTrue(repo.delete("1", Instant.EPOCH).isEmpty());
+        assertTrue(repo.findById("1").isEmpty());
+        assertEquals(0, repo.count());
+    }
+
+    private static Task task(String id) {
+        return new Task(id, "t", null, TaskStatus.PENDING, LocalDate.parse("2026-02-01"));
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.task.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator. Requests are issued on a fixed schedule
+ * regardless of how long earlier ones take, and latency is measured from the
+ * intended send time, so a stalled server shows up in the tail instead of
+ * silently lowering the offered rate (coordinated omission).
+ */
+final class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    enum Operation {
+        CREATE,
+        GET,
+        UPDATE,
+        DELETE,
+        LIST
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final IdPool ids;
+    private final String dueDate = LocalDate.now().plusDays(30).toString();
+
+    private final EnumMap<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadGenerator(String baseUrl, IdPool ids) {
+        this.baseUrl = baseUrl;
+        this.ids = ids;
+        for (Operation op : Operation.values()) {
+            histograms.put(op, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    void run(double ratePerSecond, Duration duration, Map<Operation, Integer> mix) {
+        Operation[] schedule = expand(mix);
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long total = (long) (ratePerSecond * duration.toNanos() / 1_000_000_000L);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Operation op = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                executor.execute(() -> issue(op, intended));
+            }
+        }
+    }
+
+    void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    Histogram histogram(Operation op) {
+        return histograms.get(op);
+    }
+
+    long errors(Operation op) {
+        return errors.get(op).sum();
+    }
+
+    private void issue(Operation op, long intendedStartNanos) {
+        int status;
+        try {
+            HttpResponse<String> response = client.send(request(op), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if (op == Operation.CREATE && status == 201) {
+                ids.add(extractId(response.body()));
+            }
+        } catch (Exception ex) {
+            status = -1;
+        }
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        histograms.get(op).recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+
+        // A get/update/delete may race with a delete of the same id; 404 is
+        // an expected outcome there, anything else outside 2xx is an error.
+        boolean ok = (status >= 200 && status < 300) || (status == 404 && op != Operation.CREATE && op != Operation.LIST);
+        if (!ok) {
+            errors.get(op).increment();
+        }
+    }
+
+    private HttpRequest request(Operation op) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        switch (op) {
+            case CREATE:
+                int template = ThreadLocalRandom.current().nextInt(100);
+                String body = "{\"title\":\"load-" + template + "\",\"description\":\"template " + template
+                        + "\",\"status\":\"PENDING\",\"due_date\":\"" + dueDate + "\"}";
+                return builder.uri(URI.create(baseUrl + "/tasks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            case GET:
+                return builder.uri(URI.create(baseUrl + "/tasks/" + ids.random())).GET().build();
+            case UPDATE:
+                return builder.uri(URI.create(baseUrl + "/tasks/" + ids.random()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"IN_PROGRESS\"}"))
+                        .build();
+            case DELETE:
+                return builder.uri(URI.create(baseUrl + "/tasks/" + ids.random())).DELETE().build();
+            default:
+                return builder.uri(URI.create(baseUrl + "/tasks?page=1&size=20")).GET().build();
+        }
+    }
+
+    private static String extractId(String json) {
+        int key = json.indexOf("\"id\":\"");
+        int start = key + 6;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static Operation[] expand(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("operation mix must have a positive weight");
+        }
+        Operation[] schedule = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) {
+                schedule[i++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    static Map<Operation, Long> parseOperationMap(String spec) {
+        Map<Operation, Long> values = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("expected op=value but got '" + part + "'");
+            }
+            values.put(Operation.valueOf(kv[0].trim().toUpperCase()), Long.parseLong(kv[1].trim()));
+        }
+        return values;
+    }
+
+    /** Fixed-size ring of known task ids; old entries are overwritten once full. */
+    static final class IdPool {
+        private final AtomicReferenceArray<String> ring;
+        private final AtomicLong added = new AtomicLong();
+
+        IdPool(int capacity) {
+            this.ring = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(String id) {
+            ring.set((int) (added.getAndIncrement() % ring.length()), id);
+        }
+
+        String random() {
+            int bound = (int) Math.min(added.get(), ring.length());
+            if (bound == 0) {
+                return "missing";
+            }
+            String id = ring.get(ThreadLocalRandom.current().nextInt(bound));
+            return id == null ? "missing" : id;
+        }
+    }
+}
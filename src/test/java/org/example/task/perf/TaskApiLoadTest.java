@@ -0,0 +1,112 @@
+package org.example.task.perf;
+
+import org.HdrHistogram.Histogram;
+import org.example.TaskManagementApplication;
+import org.example.task.application.TaskService;
+import org.example.task.domain.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * End-to-end throughput and tail-latency check. Excluded from the default
+ * build; run with {@code mvn -Pperf test}. See the perf profile in pom.xml
+ * for the tunable settings.
+ */
+@Tag("perf")
+@SpringBootTest(
+        classes = TaskManagementApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "task.admission.enabled=false"
+)
+class TaskApiLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    void mixedWorkload_staysWithinP99Thresholds() {
+        int preload = Integer.getInteger("perf.preload", 10_000);
+        double rate = Double.parseDouble(System.getProperty("perf.rate", "2000"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("perf.duration-seconds", 30));
+        Map<LoadGenerator.Operation, Integer> mix = toWeights(LoadGenerator.parseOperationMap(
+                System.getProperty("perf.mix", "create=15,get=50,update=15,delete=5,list=15")));
+        Map<LoadGenerator.Operation, Long> p99MaxMillis = LoadGenerator.parseOperationMap(
+                System.getProperty("perf.p99-max-ms", "create=50,get=25,update=50,delete=50,list=250"));
+
+        LoadGenerator.IdPool ids = new LoadGenerator.IdPool(Math.max(preload, 1) * 2);
+        LocalDate due = LocalDate.now().plusDays(30);
+        for (int i = 0; i < preload; i++) {
+            ids.add(taskService.createTask("preload-" + (i % 100), "template", TaskStatus.PENDING, due).getId());
+        }
+
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port, ids);
+        generator.run(rate, warmup, mix);
+        generator.reset();
+        generator.run(rate, duration, mix);
+
+        System.out.printf("%nLoad test: preload=%d rate=%.0f/s duration=%ds mix=%s%n",
+                preload, rate, duration.toSeconds(), mix);
+        System.out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        List<String> violations = new ArrayList<>();
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (LoadGenerator.Operation op : mix.keySet()) {
+            Histogram h = generator.histogram(op);
+            long errors = generator.errors(op);
+            totalCount += h.getTotalCount();
+            totalErrors += errors;
+            System.out.printf("%-8s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    op, h.getTotalCount(), errors,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+
+            Long limit = p99MaxMillis.get(op);
+            double p99 = millis(h.getValueAtPercentile(99));
+            if (limit != null && p99 > limit) {
+                violations.add(String.format("%s p99 %.2f ms exceeds %d ms", op, p99, limit));
+            }
+        }
+
+        assertTrue(totalCount > 0, "no requests were recorded");
+        if (totalErrors * 100 > totalCount) {
+            violations.add(String.format("error rate %d/%d exceeds 1%%", totalErrors, totalCount));
+        }
+        if (!violations.isEmpty()) {
+            fail("Latency SLO regression: " + String.join("; ", violations));
+        }
+    }
+
+    private static Map<LoadGenerator.Operation, Integer> toWeights(Map<LoadGenerator.Operation, Long> spec) {
+        Map<LoadGenerator.Operation, Integer> weights = new EnumMap<>(LoadGenerator.Operation.class);
+        spec.forEach((op, weight) -> {
+            if (weight > 0) {
+                weights.put(op, Math.toIntExact(weight));
+            }
+        });
+        return weights;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
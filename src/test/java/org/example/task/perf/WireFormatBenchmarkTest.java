@@ -0,0 +1,105 @@
+package org.example.task.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.task.domain.Task;
+import org.example.task.domain.TaskStatus;
+import org.example.task.web.codec.TaskCbor;
+import org.example.task.web.dto.CreateTaskRequest;
+import org.example.task.web.dto.TaskResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Payload size and encode/decode cost of the JSON and CBOR encodings for a
+ * page of task responses and a batch of create requests. Run with
+ * {@code mvn -Pperf test -Dtest=WireFormatBenchmarkTest}.
+ */
+@Tag("perf")
+class WireFormatBenchmarkTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cbor = TaskCbor.createMapper(new Jackson2ObjectMapperBuilder());
+
+    @Test
+    void cbor_isSmallerThanJson_andReportsCodecCost() throws Exception {
+        List<TaskResponse> page = samplePage();
+        List<CreateTaskRequest> batch = sampleBatch();
+
+        System.out.printf("%n%-24s %10s %14s %14s%n", "payload", "bytes", "encode us/op", "decode us/op");
+        Result jsonPage = measure("json  TaskResponse[100]", json, page, new TypeReference<List<TaskResponse>>() { });
+        Result cborPage = measure("cbor  TaskResponse[100]", cbor, page, new TypeReference<List<TaskResponse>>() { });
+        Result jsonBatch = measure("json  CreateTask[100]", json, batch, new TypeReference<List<CreateTaskRequest>>() { });
+        Result cborBatch = measure("cbor  CreateTask[100]", cbor, batch, new TypeReference<List<CreateTaskRequest>>() { });
+
+        assertTrue(cborPage.bytes < jsonPage.bytes, "CBOR page should be smaller than JSON");
+        assertTrue(cborBatch.bytes < jsonBatch.bytes, "CBOR batch should be smaller than JSON");
+    }
+
+    private <T> Result measure(String label, ObjectMapper mapper, T value, TypeReference<T> type) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(value);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(value), type);
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += ((List<?>) mapper.readValue(encoded, type)).size();
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+
+        System.out.printf("%-24s %10d %14.2f %14.2f%n", label, encoded.length, encodeMicros, decodeMicros);
+        assertTrue(sink > 0);
+        return new Result(encoded.length);
+    }
+
+    private static List<TaskResponse> samplePage() {
+        List<TaskResponse> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Task task = new Task(UUID.randomUUID().toString(), "Template task " + (i % 10),
+                    "Generated from template " + (i % 10), TaskStatus.values()[i % 3],
+                    LocalDate.of(2027, 1, 1).plusDays(i));
+            page.add(TaskResponse.from(task));
+        }
+        return page;
+    }
+
+    private static List<CreateTaskRequest> sampleBatch() {
+        List<CreateTaskRequest> batch = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Template task " + (i % 10));
+            request.setDescription("Generated from template " + (i % 10));
+            request.setStatus(TaskStatus.values()[i % 3]);
+            request.setDueDate(LocalDate.of(2027, 1, 1).plusDays(i));
+            batch.add(request);
+        }
+        return batch;
+    }
+
+    private static final class Result {
+        private final int bytes;
+
+        Result(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
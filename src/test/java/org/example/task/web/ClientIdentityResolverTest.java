@@ -0,0 +1,22 @@
+package org.example.task.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIdentityResolverTest {
+
+    @Test
+    void ignoresClientHeader_unlessConfiguredAsTrusted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("X-Client-Id", "rotating-1");
+
+        assertEquals("addr:10.0.0.7", new ClientIdentityResolver("").resolve(request));
+        assertEquals("client:rotating-1", new ClientIdentityResolver("X-Client-Id").resolve(request));
+
+        request.setUserPrincipal(() -> "alice");
+        assertEquals("principal:alice", new ClientIdentityResolver("X-Client-Id").resolve(request));
+    }
+}
@@ -1,18 +1,30 @@
 package org.example.task.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.example.TaskManagementApplication;
+import org.example.task.domain.TaskStatus;
+import org.example.task.web.codec.TaskCbor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -140,4 +152,255 @@ class TaskControllerIntegrationTest {
         mockMvc.perform(delete("/tasks/{id}", "does-not-exist"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void aggregates_reflect_created_tasks_by_bucket() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(40);
+
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "title", "agg",
+                        "status", "IN_PROGRESS",
+                        "due_date", due.toString()
+                )))).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/tasks/aggregates")
+                        .param("bucket", "day")
+                        .param("from", due.toString())
+                        .param("to", due.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket").value("DAY"))
+                .andExpect(jsonPath("$.buckets[0].bucket_start").value(due.toString()))
+                .andExpect(jsonPath("$.buckets[0].counts.IN_PROGRESS", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.overdue.PENDING").value(0));
+
+        mockMvc.perform(get("/tasks/aggregates").param("bucket", "year"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cbor_encodes_dates_as_epoch_days_and_status_as_ordinal() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(3);
+        String createdJson = mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", "binary",
+                                "status", "IN_PROGRESS",
+                                "due_date", due.toString()
+                        ))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(createdJson).get("id").asText();
+
+        byte[] cbor = mockMvc.perform(get("/tasks/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode node = new CBORMapper().readTree(cbor);
+        assertEquals(id, node.get("id").asText());
+        assertEquals(TaskStatus.IN_PROGRESS.ordinal(), node.get("status").asInt());
+        assertEquals(due.toEpochDay(), node.get("due_date").asLong());
+    }
+
+    @Test
+    void batch_create_accepts_and_returns_length_prefixed_stream() throws Exception {
+        ObjectMapper cbor = TaskCbor.createMapper(new Jackson2ObjectMapperBuilder());
+        long dueEpochDay = LocalDate.now().plusDays(4).toEpochDay();
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream frames = new DataOutputStream(body);
+        for (String title : List.of("s1", "s2")) {
+            byte[] frame = cbor.writeValueAsBytes(Map.of("title", title, "due_date", dueEpochDay));
+            frames.writeInt(frame.length);
+            frames.write(frame);
+        }
+
+        byte[] response = mockMvc.perform(post("/tasks/batch")
+                        .contentType(TaskCbor.STREAM)
+                        .accept(TaskCbor.STREAM)
+                        .content(body.toByteArray()))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response));
+        List<String> titles = new ArrayList<>();
+        while (in.available() > 0) {
+            byte[] frame = new byte[in.readInt()];
+            in.readFully(frame);
+            titles.add(cbor.readTree(frame).get("title").asText());
+        }
+        assertEquals(List.of("s1", "s2"), titles);
+    }
+
+    @Test
+    void batch_create_validates_each_element() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(
+                Map.of("title", "ok", "due_date", LocalDate.now().plusDays(2).toString()),
+                Map.of("due_date", LocalDate.now().plusDays(2).toString())
+        ));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.details['[1].title']").exists());
+    }
+
+    @Test
+    void batch_create_rejects_more_than_max_batch_size() throws Exception {
+        List<Map<String, String>> batch = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            batch.add(Map.of("title", "b" + i, "due_date", LocalDate.now().plusDays(2).toString()));
+        }
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_stream_rejects_more_frames_than_max_batch_size() throws Exception {
+        ObjectMapper cbor = TaskCbor.createMapper(new Jackson2ObjectMapperBuilder());
+        byte[] frame = cbor.writeValueAsBytes(Map.of("title", "s", "due_date", LocalDate.now().plusDays(2).toEpochDay()));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream frames = new DataOutputStream(body);
+        for (int i = 0; i < 1001; i++) {
+            frames.writeInt(frame.length);
+            frames.write(frame);
+        }
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(TaskCbor.STREAM)
+                        .content(body.toByteArray()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_create_rejects_body_over_byte_limit() throws Exception {
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new byte[(2 << 20) + 1]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.details.max_bytes").value(String.valueOf(2 << 20)));
+    }
+
+    @Test
+    void ready_lists_tasks_once_their_blockers_are_done() throws Exception {
+        String blocker = createTask("blocker");
+        String blocked = createTask("blocked");
+
+        mockMvc.perform(put("/tasks/{id}/blocked-by/{blockerId}", blocked, blocker))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/tasks/{id}/blocked-by/{blockerId}", blocker, blocked))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/tasks/ready").param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(blocker)))
+                .andExpect(jsonPath("$[*].id", not(hasItem(blocked))));
+
+        mockMvc.perform(put("/tasks/{id}", blocker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks/ready").param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(blocked)))
+                .andExpect(jsonPath("$[*].id", not(hasItem(blocker))));
+
+        mockMvc.perform(get("/tasks/{id}/blocked-by", blocked))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains(blocker)));
+    }
+
+    @Test
+    void idempotency_key_replays_original_create() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "title", "once",
+                "due_date", LocalDate.now().plusDays(2).toString()
+        ));
+
+        String first = mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "create-once-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "create-once-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.readTree(first).get("id"), objectMapper.readTree(second).get("id"));
+    }
+
+    @Test
+    void idempotency_key_reused_with_different_body_is_rejected() throws Exception {
+        String due = LocalDate.now().plusDays(2).toString();
+
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "first", "due_date", due))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "second", "due_date", due))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void deleted_tasks_are_exposed_as_tombstones_by_sequence() throws Exception {
+        String json = mockMvc.perform(get("/tasks").param("deleted_since", "0").param("size", "500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long since = 0;
+        for (JsonNode tombstone : objectMapper.readTree(json).get("content")) {
+            since = Math.max(since, tombstone.get("deleted_seq").asLong());
+        }
+
+        String first = createTask("tombstone-1");
+        String second = createTask("tombstone-2");
+        mockMvc.perform(delete("/tasks/{id}", first)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/tasks/{id}", second)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks/{id}", first)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/tasks").param("deleted_since", Long.toString(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(first, second)))
+                .andExpect(jsonPath("$.content[0].deleted_seq").value(since + 1))
+                .andExpect(jsonPath("$.content[0].deleted_at").exists());
+        mockMvc.perform(get("/tasks").param("deleted_since", Long.toString(since + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(second)));
+
+        mockMvc.perform(get("/tasks").param("size", "500"))
+                .andExpect(jsonPath("$.content", not(hasItem(hasEntry("id", first)))));
+        mockMvc.perform(get("/tasks").param("size", "500").param("include_deleted", "true"))
+                .andExpect(jsonPath("$.content[*].id", hasItem(first)));
+    }
+
+    private String createTask(String title) throws Exception {
+        String json = mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "title", title,
+                                "due_date", LocalDate.now().plusDays(5).toString()
+                        ))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
 }
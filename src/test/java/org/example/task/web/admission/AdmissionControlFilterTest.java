@@ -0,0 +1,86 @@
+package org.example.task.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.example.task.application.TaskService;
+import org.example.task.web.ClientIdentityResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void batchCreate_isChargedByBodySize() {
+        AdmissionControlFilter filter = filter(new AdmissionProperties());
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/tasks/batch");
+
+        batch.setContent(new byte[100_000]);
+        assertEquals(1 + 49, filter.estimateCost(batch));
+
+        batch.setContent(new byte[10]);
+        assertEquals(2, filter.estimateCost(batch));
+
+        assertEquals(1, filter.estimateCost(new MockHttpServletRequest("POST", "/tasks")));
+    }
+
+    @Test
+    void batchCreate_ofUnknownLength_isChargedAsTheLargestAdmittedBody() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxBodyBytes(20_480);
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(1 + 10, filter.estimateCost(chunked(new MockHttpServletRequest("POST", "/tasks/batch"))));
+    }
+
+    @Test
+    void rejectsDeclaredBodyOverLimit_beforeTheHandlerRuns() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxBodyBytes(100);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent(new byte[101]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(properties).doFilter(request, response, (req, res) -> fail("handler must not run"));
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void failsReadOfUndeclaredBody_oncePastLimit() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxBodyBytes(100);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/batch");
+        request.setContent(new byte[101]);
+
+        filter(properties).doFilter(chunked(request), new MockHttpServletResponse(), (req, res) -> {
+            InputStream body = req.getInputStream();
+            assertEquals(100, body.readNBytes(100).length);
+            assertThrows(RequestBodyTooLargeException.class, body::read);
+        });
+    }
+
+    private static AdmissionControlFilter filter(AdmissionProperties properties) {
+        return new AdmissionControlFilter(properties,
+                new TokenBucketRateLimiter(properties.getRatePerSecond(), properties.getBurst(),
+                        properties.getMaxTrackedClients()),
+                new ConcurrencyLimiter(properties.getMaxConcurrentCost()),
+                new ClientIdentityResolver(""),
+                mock(TaskService.class),
+                new ObjectMapper());
+    }
+
+    private static HttpServletRequestWrapper chunked(MockHttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+}
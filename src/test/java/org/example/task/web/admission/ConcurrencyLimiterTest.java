@@ -0,0 +1,24 @@
+package org.example.task.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void rejectsWhenCostDoesNotFit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10);
+
+        assertTrue(limiter.tryAcquire(8));
+        assertFalse(limiter.tryAcquire(3));
+        assertTrue(limiter.tryAcquire(2));
+
+        limiter.release(8);
+        limiter.release(2);
+        assertEquals(0, limiter.inFlight());
+
+        assertTrue(limiter.tryAcquire(1_000));
+        assertEquals(10, limiter.inFlight());
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.task.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void allowsBurst_thenRejectsWithWaitTime() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a", 1));
+        assertEquals(0, limiter.tryAcquire("a", 1));
+        assertEquals(0, limiter.tryAcquire("a", 1));
+
+        long wait = limiter.tryAcquire("a", 1);
+        assertEquals(100_000_000L, wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("a", 1));
+    }
+
+    @Test
+    void bucketsAreIndependentPerClient() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a", 1));
+        assertTrue(limiter.tryAcquire("a", 1) > 0);
+        assertEquals(0, limiter.tryAcquire("b", 1));
+    }
+
+    @Test
+    void costIsChargedAgainstTheBucket_andCappedAtBurst() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a", 1_000));
+        assertTrue(limiter.tryAcquire("a", 1) > 0);
+    }
+
+    @Test
+    void evictsRefilledBuckets_whenClientLimitReached() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, now::get);
+
+        limiter.tryAcquire("a", 1);
+        limiter.tryAcquire("b", 1);
+        assertEquals(2, limiter.trackedClients());
+
+        now.addAndGet(1_000_000_000L);
+        assertEquals(0, limiter.tryAcquire("c", 1));
+        assertEquals(1, limiter.trackedClients());
+    }
+
+    @Test
+    void sweepsAtMostOncePerRefillPeriod_andSharesOverflowInBetween() {
+        AtomicLong now = new AtomicLong(0);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 1, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a", 1));
+        assertEquals(0, limiter.tryAcquire("b", 1));
+        assertTrue(limiter.tryAcquire("c", 1) > 0);
+        assertEquals(1, limiter.trackedClients());
+
+        now.addAndGet(100_000_000L);
+        assertEquals(0, limiter.tryAcquire("c", 1));
+        assertEquals(1, limiter.trackedClients());
+    }
+}
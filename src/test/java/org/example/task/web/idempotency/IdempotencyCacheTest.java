@@ -0,0 +1,167 @@
+package org.example.task.web.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void replaysStoredResponse_forSameKeyAndScope() {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, MAPPER, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<Integer> first = cache.execute("k", "client", "POST /tasks", null, () -> ResponseEntity.ok(executions.incrementAndGet()));
+        ResponseEntity<Integer> second = cache.execute("k", "client", "POST /tasks", null, () -> ResponseEntity.ok(executions.incrementAndGet()));
+        ResponseEntity<Integer> otherScope = cache.execute("k", "client", "DELETE /tasks/1", null, () -> ResponseEntity.ok(executions.incrementAndGet()));
+
+        assertEquals(1, first.getBody());
+        assertEquals(1, second.getBody());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+        assertEquals(2, otherScope.getBody());
+    }
+
+    @Test
+    void concurrentDuplicates_executeOnce() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, MAPPER, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<Integer>> leader = executor.submit(() -> cache.execute("k", "client", "POST /tasks", null, () -> {
+                await(release);
+                return ResponseEntity.ok(executions.incrementAndGet());
+            }));
+            while (cache.size() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<ResponseEntity<Integer>> follower = executor.submit(
+                    () -> cache.execute("k", "client", "POST /tasks", null, () -> ResponseEntity.ok(executions.incrementAndGet())));
+
+            release.countDown();
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, follower.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresAreNotCached_andEntriesExpire() {
+        AtomicLong now = new AtomicLong();
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofSeconds(10), 100, MAPPER, now::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.execute("k", "client", "s", null, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(1, cache.execute("k", "client", "s", null, () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+        assertEquals(1, cache.execute("k", "client", "s", null, () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals(2, cache.execute("k", "client", "s", null, () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+    }
+
+    @Test
+    void evictsOldestEntries_beyondCapacity() {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 2, MAPPER, System::nanoTime);
+
+        for (int i = 0; i < 10; i++) {
+            cache.execute("k" + i, "client", "s", null, () -> ResponseEntity.ok(1));
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test
+    void keysAreScopedPerClient_andRejectedForADifferentBody() {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100, MAPPER, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        Map<String, String> body = Map.of("title", "a");
+
+        assertEquals(1, cache.execute("k", "alice", "POST /tasks", body,
+                () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+        assertEquals(2, cache.execute("k", "bob", "POST /tasks", body,
+                () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+        assertEquals(1, cache.execute("k", "alice", "POST /tasks", Map.of("title", "a"),
+                () -> ResponseEntity.ok(executions.incrementAndGet())).getBody());
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.execute("k", "alice", "POST /tasks",
+                Map.of("title", "b"), () -> ResponseEntity.ok(executions.incrementAndGet())));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failedRequests_doNotPushOutCompletedEntries() {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 2, MAPPER, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        cache.execute("a", "client", "s", null, () -> ResponseEntity.ok(executions.incrementAndGet()));
+        cache.execute("b", "client", "s", null, () -> ResponseEntity.ok(executions.incrementAndGet()));
+
+        for (int i = 0; i < 10; i++) {
+            int attempt = i;
+            assertThrows(IllegalStateException.class, () -> cache.execute("k" + attempt, "client", "s", null, () -> {
+                throw new IllegalStateException("missing");
+            }));
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.queued());
+        assertEquals(1, cache.execute("a", "client", "s", null, () -> ResponseEntity.ok(-1)).getBody());
+        assertEquals(2, cache.execute("b", "client", "s", null, () -> ResponseEntity.ok(-1)).getBody());
+    }
+
+    @Test
+    void inFlightEntries_areNotEvicted_beyondCapacity() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 1, MAPPER, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<Integer>> leader = executor.submit(() -> cache.execute("k", "client", "s", null, () -> {
+                await(release);
+                return ResponseEntity.ok(executions.incrementAndGet());
+            }));
+            while (cache.size() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < 5; i++) {
+                cache.execute("other" + i, "client", "s", null, () -> ResponseEntity.ok(0));
+            }
+
+            // Still mapped: a different body is rejected instead of running the action.
+            assertThrows(IdempotencyKeyReusedException.class, () -> cache.execute("k", "client", "s",
+                    Map.of("title", "b"), () -> ResponseEntity.ok(executions.incrementAndGet())));
+
+            release.countDown();
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}